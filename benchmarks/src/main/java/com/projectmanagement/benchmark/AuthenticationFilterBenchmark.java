@@ -0,0 +1,88 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.security.JwtAuthenticationFilter;
+import com.projectmanagement.security.JwtUtil;
+import com.projectmanagement.service.CustomUserDetailsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JWT filter on an authenticated request, as wired in the application: token verification
+ * (cached after the first request), the principal from the claims or from the user cache
+ * depending on jwt.stateless.enabled, and the token version check. Each invocation is a fresh
+ * request on a cleared security context, as on a request thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() throws ServletException, IOException {
+        DataSeeder seeder = new DataSeeder(100, 10, 10, 0);
+        context = EmbeddedApplication.start(seeder, "jwt.stateless.enabled=" + stateless);
+        filter = context.getBean(JwtAuthenticationFilter.class);
+        String email = seeder.getDataset().emails().get(0);
+        String token = context.getBean(JwtUtil.class)
+                .generateToken(context.getBean(CustomUserDetailsService.class).loadUserByUsername(email));
+        authorization = "Bearer " + token;
+
+        if (authenticate() == null) {
+            throw new IllegalStateException("The filter did not authenticate the request");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication doFilterInternal() throws ServletException, IOException {
+        return authenticate();
+    }
+
+    private Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
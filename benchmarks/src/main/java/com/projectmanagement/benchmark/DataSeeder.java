@@ -0,0 +1,127 @@
+package com.projectmanagement.benchmark;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the embedded database with users, projects, project memberships and tasks. Runs once the
+ * schema is migrated but before the application is ready, so the search index and task statistics,
+ * which load at that point, see the seeded rows. Rows are written with batched JDBC inserts; every
+ * user gets the same password, hashed once.
+ *
+ * The first admins users are administrators. Each project has membersPerProject consecutive users as
+ * members, and its tasks are assigned to those members in turn.
+ */
+public class DataSeeder implements ApplicationListener<ApplicationStartedEvent> {
+
+    public static final String PASSWORD = "benchmark-password";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] TASK_STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private final int users;
+    private final int admins;
+    private final int projects;
+    private final int membersPerProject;
+    private final int tasksPerProject;
+    private volatile Dataset dataset;
+
+    // Identifiers of the seeded rows, in insertion order
+    public record Dataset(List<Integer> userIds, List<String> emails, List<Integer> projectIds, List<Integer> taskIds) {
+    }
+
+    public DataSeeder(int users, int projects, int membersPerProject, int tasksPerProject) {
+        this(users, 0, projects, membersPerProject, tasksPerProject);
+    }
+
+    public DataSeeder(int users, int admins, int projects, int membersPerProject, int tasksPerProject) {
+        if (users < 1 || admins > users || membersPerProject > users) {
+            throw new IllegalArgumentException("Need at least one user and no more admins or members per project than users");
+        }
+        this.users = users;
+        this.admins = admins;
+        this.projects = projects;
+        this.membersPerProject = membersPerProject;
+        this.tasksPerProject = tasksPerProject;
+    }
+
+    public Dataset getDataset() {
+        if (dataset == null) {
+            throw new IllegalStateException("The application has not started yet");
+        }
+        return dataset;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        // Pooled connections do not auto-commit
+        dataset = new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .execute(status -> seed(jdbcTemplate, passwordHash));
+    }
+
+    private Dataset seed(JdbcTemplate jdbcTemplate, String passwordHash) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        List<Object[]> userRows = new ArrayList<>(users);
+        List<String> emails = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String email = "user" + i + "@example.com";
+            emails.add(email);
+            // Stored without the prefix, the authority is "ROLE_" + role
+            userRows.add(new Object[]{"User " + i, email, passwordHash, i < admins ? "ADMIN" : "USER", now});
+        }
+        insert(jdbcTemplate, "INSERT INTO users (name, email, password, role, created_at) VALUES (?, ?, ?, ?, ?)", userRows);
+        List<Integer> userIds = jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Integer.class);
+
+        List<Object[]> projectRows = new ArrayList<>(projects);
+        for (int p = 0; p < projects; p++) {
+            projectRows.add(new Object[]{"Project " + p, "Seeded project " + p, userIds.get(p % users), now, "IN_PROGRESS"});
+        }
+        insert(jdbcTemplate, "INSERT INTO projects (project_name, description, created_by, created_at, status) VALUES (?, ?, ?, ?, ?)",
+                projectRows);
+        List<Integer> projectIds = jdbcTemplate.queryForList("SELECT project_id FROM projects ORDER BY project_id", Integer.class);
+
+        List<Object[]> assignmentRows = new ArrayList<>(projects * membersPerProject);
+        List<Object[]> taskRows = new ArrayList<>(projects * tasksPerProject);
+        for (int p = 0; p < projectIds.size(); p++) {
+            int projectId = projectIds.get(p);
+            for (int m = 0; m < membersPerProject; m++) {
+                assignmentRows.add(new Object[]{projectId, member(userIds, p, m), now});
+            }
+            for (int t = 0; t < tasksPerProject; t++) {
+                int assignee = member(userIds, p, membersPerProject > 0 ? t % membersPerProject : 0);
+                taskRows.add(new Object[]{"Task " + t + " of project " + p, TASK_STATUSES[t % TASK_STATUSES.length],
+                        projectId, assignee, now});
+            }
+        }
+        insert(jdbcTemplate, "INSERT INTO project_assignments (project_id, user_id, assigned_at) VALUES (?, ?, ?)", assignmentRows);
+        insert(jdbcTemplate, "INSERT INTO tasks (task_name, status, project_id, assigned_to, created_at) VALUES (?, ?, ?, ?, ?)",
+                taskRows);
+        List<Integer> taskIds = jdbcTemplate.queryForList("SELECT task_id FROM tasks ORDER BY task_id", Integer.class);
+
+        return new Dataset(userIds, emails, projectIds, taskIds);
+    }
+
+    // The m-th member of project p: consecutive users starting at the project's own offset
+    private int member(List<Integer> userIds, int p, int m) {
+        return userIds.get((p * membersPerProject + m) % users);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.ProjectManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the full application with the "embedded" profile (an in-memory H2 database migrated by
+ * Flyway, see application-embedded.properties) and seeds it, so benchmarks run against the real beans
+ * and queries.
+ */
+public final class EmbeddedApplication {
+
+    public static final String PROFILE = "embedded";
+
+    private EmbeddedApplication() {
+    }
+
+    // Extra properties as "name=value", e.g. to switch a feature flag per benchmark parameter
+    public static ConfigurableApplicationContext start(DataSeeder seeder, String... properties) {
+        return start(new String[0], seeder, properties);
+    }
+
+    // Further profiles are applied on top of the embedded one
+    public static ConfigurableApplicationContext start(String[] profiles, DataSeeder seeder, String... properties) {
+        return new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .profiles(PROFILE)
+                .profiles(profiles)
+                .properties("server.port=0")  // Never collide with a running instance or another fork
+                .properties(properties)
+                .listeners(seeder)
+                .run();
+    }
+}
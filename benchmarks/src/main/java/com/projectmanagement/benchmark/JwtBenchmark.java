@@ -0,0 +1,78 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.security.JwtUtil;
+import com.projectmanagement.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Token issuing and verification. extractAllClaims is private; extractClaim reaches it without
+ * the verified-token cache, so it measures the full parse and HMAC check that a first request pays.
+ * verifyToken on the same token measures the cached path every later request takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtil jwtUtil;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Just the component, with its @Value fields and @PostConstruct initialisation
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("jwt.secret.key", "abcdefghijklmnopqrstuvwxyz123456")));
+        context.register(JwtUtil.class);
+        context.refresh();
+        jwtUtil = context.getBean(JwtUtil.class);
+        user = new AuthenticatedUser("user0@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")), 0);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractClaim(token, Function.identity());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyTokenCached() {
+        return jwtUtil.verifyToken(token);
+    }
+}
@@ -0,0 +1,73 @@
+package com.projectmanagement.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and response statuses per endpoint of a load test run. Latencies are recorded in
+ * microseconds into an HdrHistogram per endpoint; the report lists endpoints by name with fixed
+ * percentiles, so reports of two builds can be compared with a plain diff.
+ */
+class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private static final class Endpoint {
+        private final Histogram latencies = new ConcurrentHistogram(3);  // Auto-resizing, 3 significant digits
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+
+    // status is the HTTP status code, or "io" when no response was received
+    void record(String endpoint, String status, long latencyMicros) {
+        Endpoint recorded = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        recorded.latencies.recordValue(Math.max(latencyMicros, 1));
+        recorded.statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    // The summary table, and the full percentile distribution of each endpoint as <endpoint>.hgrm
+    void write(Path directory, String description, PrintStream console) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+        try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.txt")))) {
+            summary.println("# " + description);
+            writeTable(sorted, summary);
+        }
+        for (Map.Entry<String, Endpoint> endpoint : sorted.entrySet()) {
+            try (PrintStream distribution = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.getKey() + ".hgrm")))) {
+                endpoint.getValue().latencies.outputPercentileDistribution(distribution, 1000.0);  // In milliseconds
+            }
+        }
+        PrintWriter out = new PrintWriter(console, true);
+        writeTable(sorted, out);
+        out.flush();
+    }
+
+    private static void writeTable(Map<String, Endpoint> sorted, PrintWriter out) {
+        out.printf(Locale.ROOT, "%-20s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+            Histogram latencies = entry.getValue().latencies;
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-20s %8d %9.2f",
+                    entry.getKey(), latencies.getTotalCount(), latencies.getMean() / 1000.0));
+            for (double percentile : PERCENTILES) {
+                line.append(String.format(Locale.ROOT, " %9.2f", latencies.getValueAtPercentile(percentile) / 1000.0));
+            }
+            line.append(String.format(Locale.ROOT, " %9.2f  ", latencies.getMaxValue() / 1000.0));
+            new TreeMap<>(entry.getValue().statuses).forEach((status, count) -> line.append(status).append('=').append(count.sum()).append(' '));
+            out.println(line.toString().stripTrailing());
+        }
+    }
+}
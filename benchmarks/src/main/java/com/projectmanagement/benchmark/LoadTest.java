@@ -0,0 +1,359 @@
+package com.projectmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end load test: boots the application on an embedded database (profiles "embedded" and
+ * "load"), seeds users, projects, memberships and tasks, and sends a weighted mix of login, list,
+ * get, create and update requests to the user, project, assignment and task endpoints over HTTP.
+ *
+ * Requests are started at a fixed rate, independent of how fast earlier ones complete, and latency
+ * is measured from the intended start, so queueing in the application shows up in the percentiles
+ * instead of slowing the test down. Updates send the version last seen as If-Match; after a 409 the
+ * task or project is read again, which is recorded as a get. The report (see {@link LoadReport}) is
+ * written after a warmup that is not recorded.
+ *
+ *   mvn install -DskipTests
+ *   mvn -f benchmarks/pom.xml package exec:java@load-test [-Dload.rate=500 -Dload.seconds=120 ...]
+ *
+ * Mix weights are set as -Dload.mix=task.get=30,task.update=10,... (operations left out are not sent).
+ *
+ * To compare request handling on platform and virtual threads, run the test once per mode at the same
+ * rate and connection-pool size, each with its own report directory:
+ *   -Dload.virtual-threads=true -Dload.pool-size=10 -Dload.report-dir=target/load-test/virtual-10
+ * Virtual threads need Java 21; on older JDKs the application warns and keeps platform threads.
+ */
+public final class LoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 1000);
+    private static final int ADMINS = Integer.getInteger("load.admins", 10);
+    private static final int PROJECTS = Integer.getInteger("load.projects", 100);
+    private static final int MEMBERS_PER_PROJECT = Integer.getInteger("load.members-per-project", 10);
+    private static final int TASKS_PER_PROJECT = Integer.getInteger("load.tasks-per-project", 100);
+    // Seeded users logged in before the run, whose tokens the requests use
+    private static final int SESSIONS = Integer.getInteger("load.sessions", 50);
+    private static final int RATE_PER_SECOND = Integer.getInteger("load.rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    // Client connections: requests beyond this many in flight wait, and their wait is part of the latency
+    private static final int CLIENT_THREADS = Integer.getInteger("load.threads", 64);
+    // Threading mode and connection-pool size of the application under test
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.virtual-threads");
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 10);
+    private static final String MIX = System.getProperty("load.mix",
+            "user.login=2,user.get=5,user.create=1,"
+                    + "project.list=5,project.get=10,project.create=1,project.update=2,"
+                    + "assignment.list=5,assignment.create=1,"
+                    + "task.list=15,task.get=30,task.create=8,task.update=15");
+    private static final Path REPORT_DIRECTORY = Path.of(System.getProperty("load.report-dir", "target/load-test"));
+
+    private static final int PAGE_SIZE = 50;
+    private static final String[] TASK_STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private enum Operation {
+        USER_LOGIN("user.login"),
+        USER_GET("user.get"),
+        USER_CREATE("user.create"),
+        PROJECT_LIST("project.list"),
+        PROJECT_GET("project.get"),
+        PROJECT_CREATE("project.create"),
+        PROJECT_UPDATE("project.update"),
+        ASSIGNMENT_LIST("assignment.list"),
+        ASSIGNMENT_CREATE("assignment.create"),
+        TASK_LIST("task.list"),
+        TASK_GET("task.get"),
+        TASK_CREATE("task.create"),
+        TASK_UPDATE("task.update");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        static Operation of(String endpoint) {
+            for (Operation operation : values()) {
+                if (operation.endpoint.equals(endpoint)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + endpoint + ", expected one of "
+                    + Arrays.stream(values()).map(operation -> operation.endpoint).collect(Collectors.joining(", ")));
+        }
+    }
+
+    private final URI baseUri;
+    private final DataSeeder.Dataset dataset;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> userTokens = new ArrayList<>();
+    private final List<String> adminTokens = new ArrayList<>();
+    // Last version seen per task and project; seeded rows start at 0
+    private final Map<Integer, Long> taskVersions = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> projectVersions = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+
+    private LoadTest(URI baseUri, DataSeeder.Dataset dataset, String mix) {
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        String[] entries = mix.split(",");
+        this.operations = new Operation[entries.length];
+        this.cumulativeWeights = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].trim().split("=");
+            operations[i] = Operation.of(entry[0].trim());
+            total += entry.length > 1 ? Integer.parseInt(entry[1].trim()) : 1;
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (USERS <= ADMINS) {
+            throw new IllegalArgumentException("load.users must be larger than load.admins");
+        }
+        DataSeeder seeder = new DataSeeder(USERS, ADMINS, PROJECTS, MEMBERS_PER_PROJECT, TASKS_PER_PROJECT);
+        try (ConfigurableApplicationContext context = EmbeddedApplication.start(new String[]{"load"}, seeder,
+                "spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest test = new LoadTest(URI.create("http://localhost:" + port), seeder.getDataset(), MIX);
+            test.logIn();
+
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+            try {
+                test.drive(clients, RATE_PER_SECOND * WARMUP_SECONDS, new LoadReport());
+                LoadReport report = new LoadReport();
+                test.drive(clients, RATE_PER_SECOND * DURATION_SECONDS, report);
+                report.write(REPORT_DIRECTORY, describe(), System.out);
+            } finally {
+                clients.shutdownNow();
+            }
+        }
+        System.out.println("Report written to " + REPORT_DIRECTORY.toAbsolutePath());
+    }
+
+    private static String describe() {
+        return String.format(Locale.ROOT,
+                "rate=%d/s seconds=%d warmup=%ds threads=%d users=%d admins=%d projects=%d members=%d tasks=%d sessions=%d java=%s "
+                        + "virtual-threads=%s pool-size=%d mix=%s",
+                RATE_PER_SECOND, DURATION_SECONDS, WARMUP_SECONDS, CLIENT_THREADS, USERS, ADMINS, PROJECTS,
+                MEMBERS_PER_PROJECT, PROJECTS * TASKS_PER_PROJECT, SESSIONS, Runtime.version().feature(),
+                VIRTUAL_THREADS, POOL_SIZE, MIX);
+    }
+
+    // Tokens for the requests, obtained through the login endpoint before the run
+    private void logIn() throws IOException, InterruptedException {
+        for (int i = 0; i < Math.min(ADMINS, SESSIONS); i++) {
+            adminTokens.add(logIn(dataset.emails().get(i)));
+        }
+        for (int i = 0; i < SESSIONS; i++) {
+            userTokens.add(logIn(dataset.emails().get(ADMINS + i % (USERS - ADMINS))));
+        }
+    }
+
+    private String logIn(String email) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/auth/users/login", Map.of("email", email, "password", DataSeeder.PASSWORD), null));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + email + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    // Open-loop load: schedule arrivals at a fixed rate and measure from the intended start time
+    private void drive(ExecutorService clients, int requests, LoadReport report) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE_PER_SECOND;
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = nextOperation();
+            clients.execute(() -> {
+                try {
+                    execute(operation, intended, report);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private void execute(Operation operation, long intended, LoadReport report) {
+        try {
+            HttpResponse<String> response = send(request(operation));
+            report.record(operation.endpoint, Integer.toString(response.statusCode()), micros(intended));
+            if (response.statusCode() == 409) {
+                refreshVersion(operation, response.request().uri(), report);
+            } else {
+                rememberVersion(operation, response);
+            }
+        } catch (IOException e) {
+            report.record(operation.endpoint, "io", micros(intended));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Operation operation) throws JsonProcessingException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int projectId = pick(dataset.projectIds());
+        int taskId = pick(dataset.taskIds());
+        int userId = pick(dataset.userIds());
+        return switch (operation) {
+            case USER_LOGIN -> post("/api/auth/users/login",
+                    Map.of("email", dataset.emails().get(ADMINS + random.nextInt(USERS - ADMINS)), "password", DataSeeder.PASSWORD), null);
+            case USER_GET -> get("/api/auth/users/me", userToken());
+            case USER_CREATE -> post("/api/auth/users/register", Map.of("name", "Load user",
+                    "email", "load" + created.incrementAndGet() + "-" + System.nanoTime() + "@example.com",
+                    "password", DataSeeder.PASSWORD), null);
+            case PROJECT_LIST -> get("/api/projects?size=" + PAGE_SIZE, userToken());
+            case PROJECT_GET -> get("/api/projects/" + projectId, userToken());
+            case PROJECT_CREATE -> post("/api/projects",
+                    Map.of("projectName", "Load project " + created.incrementAndGet(), "description", "Created by the load test"), adminToken());
+            case PROJECT_UPDATE -> patch("/api/projects/" + projectId, projectVersions.getOrDefault(projectId, 0L),
+                    Map.of("description", "Updated by the load test " + created.incrementAndGet()), adminToken());
+            case ASSIGNMENT_LIST -> get("/api/projects/admin/project-assignments/project/" + projectId + "?size=" + PAGE_SIZE, userToken());
+            case ASSIGNMENT_CREATE -> post("/api/projects/admin/project-assignments",
+                    Map.of("projectId", projectId, "userId", userId), adminToken());
+            case TASK_LIST -> get("/api/auth/tasks?projectId=" + projectId + "&size=" + PAGE_SIZE, userToken());
+            case TASK_GET -> get("/api/auth/tasks/" + taskId, userToken());
+            case TASK_CREATE -> post("/api/auth/tasks", Map.of("taskName", "Load task " + created.incrementAndGet(),
+                    "status", "TODO", "project", Map.of("id", projectId), "assignedTo", Map.of("id", userId)), userToken());
+            case TASK_UPDATE -> patch("/api/auth/tasks/" + taskId, taskVersions.getOrDefault(taskId, 0L),
+                    Map.of("status", TASK_STATUSES[random.nextInt(TASK_STATUSES.length)]), userToken());
+        };
+    }
+
+    // A successful update answers with the new version as its ETag
+    private void rememberVersion(Operation operation, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        Map<Integer, Long> versions = operation == Operation.TASK_UPDATE ? taskVersions
+                : operation == Operation.PROJECT_UPDATE ? projectVersions : null;
+        if (versions != null) {
+            response.headers().firstValue("ETag").ifPresent(tag -> versions.put(idOf(response.request().uri()), version(tag)));
+        }
+    }
+
+    // Another request updated it first: read the current version, as a client would
+    private void refreshVersion(Operation operation, URI uri, LoadReport report) throws InterruptedException {
+        Operation read = operation == Operation.TASK_UPDATE ? Operation.TASK_GET : Operation.PROJECT_GET;
+        Map<Integer, Long> versions = operation == Operation.TASK_UPDATE ? taskVersions : projectVersions;
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = send(get(uri.getPath(), userToken()));
+            report.record(read.endpoint, Integer.toString(response.statusCode()), micros(started));
+            response.headers().firstValue("ETag").ifPresent(tag -> versions.put(idOf(uri), version(tag)));
+        } catch (IOException e) {
+            report.record(read.endpoint, "io", micros(started));
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body, String token) throws JsonProcessingException {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest patch(String path, long version, Object body, String token) throws JsonProcessingException {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .header("If-Match", "\"" + version + "\"")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private String userToken() {
+        return pick(userTokens);
+    }
+
+    private String adminToken() {
+        return adminTokens.isEmpty() ? userToken() : pick(adminTokens);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static long micros(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedNanos);
+    }
+
+    // The resource's own version comes first in an ETag such as "3" or "3.1.2"
+    private static long version(String tag) {
+        String value = tag.replace("W/", "").replace("\"", "");
+        int embedded = value.indexOf('.');
+        return Long.parseLong(embedded >= 0 ? value.substring(0, embedded) : value);
+    }
+
+    private static int idOf(URI uri) {
+        String path = uri.getPath();
+        return Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+    }
+}
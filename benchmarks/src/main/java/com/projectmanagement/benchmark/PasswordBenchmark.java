@@ -0,0 +1,64 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.config.PasswordEncodingConfig;
+import com.projectmanagement.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt verification at the configured strengths (security.password.bcrypt-strength), directly and
+ * through the application's bounded encoder, whose difference is the hand-off to the hashing executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private PasswordEncoder bounded;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        bounded = new PasswordEncodingConfig().passwordEncoder(strength, 0, 64, Duration.ofSeconds(30));
+        hash = bcrypt.encode(DataSeeder.PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((BoundedPasswordEncoder) bounded).destroy();
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(DataSeeder.PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean boundedEncoderMatches() {
+        return bounded.matches(DataSeeder.PASSWORD, hash);
+    }
+}
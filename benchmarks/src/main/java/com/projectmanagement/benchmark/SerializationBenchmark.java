@@ -0,0 +1,104 @@
+package com.projectmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization with the ObjectMapper Spring Boot configures for the controllers: a Task entity
+ * with its nested Project and User (what create and update return), the flat TaskView the read
+ * endpoints return instead, and a full page of TaskViews.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;  // ScrollRequest.DEFAULT_SIZE
+
+    private AnnotationConfigApplicationContext context;
+    private ObjectMapper objectMapper;
+    private Task task;
+    private TaskView taskView;
+    private List<TaskView> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        User user = new User();
+        user.setId(7);
+        user.setName("User 7");
+        user.setEmail("user7@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0Q2lxjWMc6L6x1xS/5aLtLm");
+        user.setRole("ROLE_USER");
+        user.setCreatedAt(new Date());
+
+        Project project = new Project();
+        project.setId(3);
+        project.setProjectName("Project 3");
+        project.setDescription("Seeded project 3");
+        project.setCreatedBy(user.getId());
+        project.setCreatedAt(new Date());
+
+        task = new Task();
+        task.setId(42);
+        task.setTaskName("Task 42 of project 3");
+        task.setStatus("IN_PROGRESS");
+        task.setProject(project);
+        task.setAssignedTo(user);
+        task.setCreatedAt(new Date());
+
+        taskView = TaskView.from(task);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(TaskView.from(task));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] taskWithProjectAndUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] taskView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskView);
+    }
+
+    @Benchmark
+    public byte[] taskViewPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,140 @@
+package com.projectmanagement.benchmark;
+
+import com.projectmanagement.dto.TaskCounts;
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.payload.TaskFilter;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.service.ProjectService;
+import com.projectmanagement.service.TaskService;
+import com.projectmanagement.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service methods behind the hottest endpoints, through their transactional proxies, against the
+ * seeded embedded database. Reads and patches walk through the seeded rows in turn, so caches see a
+ * realistic spread of keys rather than one hot entry. The dataset size is a parameter
+ * (-p users=... -p projects=... -p tasksPerProject=...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    @Param({"1000"})
+    public int users;
+
+    @Param({"100"})
+    public int projects;
+
+    @Param({"100"})
+    public int tasksPerProject;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ProjectService projectService;
+    private UserService userService;
+    private DataSeeder.Dataset dataset;
+    // Expected version of every seeded task, advanced by the patch benchmark
+    private long[] taskVersions;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataSeeder seeder = new DataSeeder(users, projects, Math.min(10, users), tasksPerProject);
+        context = EmbeddedApplication.start(seeder);
+        taskService = context.getBean(TaskService.class);
+        projectService = context.getBean(ProjectService.class);
+        userService = context.getBean(UserService.class);
+        dataset = seeder.getDataset();
+        taskVersions = new long[dataset.taskIds().size()];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<TaskView> getTaskById() {
+        return taskService.getTaskById(nextOf(dataset.taskIds()));
+    }
+
+    @Benchmark
+    public Window<TaskView> getTasksOfProject() {
+        TaskFilter filter = new TaskFilter();
+        filter.setProjectId(nextOf(dataset.projectIds()));
+        return taskService.getAllTasks(filter, new ScrollRequest(ScrollPosition.keyset(), Sort.by("id"), ScrollRequest.DEFAULT_SIZE));
+    }
+
+    @Benchmark
+    public TaskCounts countTasksByProject() {
+        return taskService.countTasksByProject(nextOf(dataset.projectIds()));
+    }
+
+    @Benchmark
+    public Optional<Project> getProjectById() {
+        return projectService.getProjectById(nextOf(dataset.projectIds()));
+    }
+
+    @Benchmark
+    public int getUserIdByEmail() {
+        return userService.getUserIdByEmail(nextOf(dataset.emails()));
+    }
+
+    @Benchmark
+    public long patchTaskStatus() {
+        int index = (int) (next++ % taskVersions.length);
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus(STATUSES[(int) (next % STATUSES.length)]);
+        taskVersions[index] = taskService.patchTask(dataset.taskIds().get(index), taskVersions[index], patch);
+        return taskVersions[index];
+    }
+
+    @Benchmark
+    public Task createTask() {
+        int projectIndex = (int) (next++ % dataset.projectIds().size());
+        Project project = new Project();
+        project.setId(dataset.projectIds().get(projectIndex));
+        User assignee = new User();
+        assignee.setId(dataset.userIds().get(projectIndex % dataset.userIds().size()));
+        Task task = new Task();
+        task.setTaskName("Benchmark task " + next);
+        task.setStatus("TODO");
+        task.setProject(project);
+        task.setAssignedTo(assignee);
+        return taskService.createTask(task);
+    }
+
+    private <T> T nextOf(List<T> values) {
+        return values.get((int) (next++ % values.size()));
+    }
+}
@@ -2,8 +2,10 @@ package com.projectmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling  // Sweep that resumes unfinished cascade deletes
 public class ProjectManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,42 @@
+package com.projectmanagement.config;
+
+import com.projectmanagement.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing runs on its own small executor so a login or registration burst
+ * cannot occupy every request thread with BCrypt work.
+ */
+@Configuration
+public class PasswordEncodingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hashing.timeout:PT5S}") Duration timeout) {
+        // Default to one hashing thread per core, BCrypt is purely CPU bound
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy()  // Reject instead of queueing without bound
+        );
+
+        // Hashes with a lower strength than configured are re-encoded on the next successful login
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), executor, timeout);
+    }
+}
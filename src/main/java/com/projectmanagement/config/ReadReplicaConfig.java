@@ -0,0 +1,62 @@
+package com.projectmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary and replica connection pools behind a routing DataSource. Only active when
+ * spring.datasource.replica.url is set; otherwise Spring Boot's single DataSource is used.
+ * The replica pool takes the same settings as spring.datasource, under spring.datasource.replica.
+ * Both pools hand out connections with auto-commit off, whatever their hikari settings say.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    // The pools are not autowire candidates, everything else gets the routing DataSource below
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${datasource.routing.read-your-writes-window:PT5S}") Duration readYourWritesWindow,
+                                 @Value("${datasource.routing.replica-retry-after:PT30S}") Duration replicaRetryAfter) {
+        HikariDataSource primary = primaryDataSource(properties);
+        HikariDataSource replica = replicaDataSource();
+        // Hibernate is told that connections come with auto-commit off (provider_disables_autocommit) and
+        // no longer turns it off itself; a replica left in auto-commit would run every statement of a
+        // read-only transaction on its own snapshot. Applied after the pool properties were bound.
+        primary.setAutoCommit(false);
+        replica.setAutoCommit(false);
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(
+                primary, replica, readYourWritesWindow, replicaRetryAfter);
+        // Defer fetching the physical connection until the first statement, when the read-only flag is set
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,175 @@
+package com.projectmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Routes connections of read-only transactions to the replica and everything else to the primary.
+ * A principal that has just committed a write keeps reading from the primary for the
+ * read-your-writes window. Only transactions that ran an update on their connection count as writes,
+ * so read-write transactions that only read (such as the UserCache loads) do not pin the principal
+ * to the primary. A replica that refuses connections is skipped until the retry delay
+ * has passed. Must sit behind a LazyConnectionDataSourceProxy, so the read-only flag of the
+ * transaction is known when the physical connection is fetched.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<String, Boolean> recentWriters;
+    private final long replicaRetryAfterNanos;
+    private volatile long replicaDownSince;
+    private volatile boolean replicaDown;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                        Duration readYourWritesWindow, Duration replicaRetryAfter) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.replicaRetryAfterNanos = replicaRetryAfter.toNanos();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        String principal = currentPrincipal();
+        if (principal != null && recentWriters.getIfPresent(principal) != null) {
+            return Target.PRIMARY;  // The replica may not have caught up with this principal's write yet
+        }
+        if (replicaDown && System.nanoTime() - replicaDownSince < replicaRetryAfterNanos) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return trackWrites(target.getConnection());
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaDown = false;
+            return connection;
+        } catch (SQLException e) {
+            markReplicaDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return trackWrites(target.getConnection(username, password));
+        }
+        try {
+            Connection connection = replica.getConnection(username, password);
+            replicaDown = false;
+            return connection;
+        } catch (SQLException e) {
+            markReplicaDown(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // Fall back to the primary for reads until the retry delay has passed
+    private void markReplicaDown(SQLException cause) {
+        if (!replicaDown) {
+            logger.warn("Read replica unavailable, serving reads from the primary: {}", cause.getMessage());
+        }
+        replicaDownSince = System.nanoTime();
+        replicaDown = true;
+    }
+
+    // Wrap the connection of a read-write transaction so its statements can tell when the principal writes
+    private Connection trackWrites(Connection connection) {
+        String principal = currentPrincipal();
+        if (principal == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof Statement statement) {
+                return proxy(method.getReturnType(), statement, (statementMethod, statementResult) -> {
+                    if (statementMethod.getName().startsWith("execute") && !statementMethod.getName().equals("executeQuery")) {
+                        markWritten(principal);
+                    }
+                    return statementResult;
+                });
+            }
+            return result;
+        });
+    }
+
+    // Start the principal's read-your-writes window once the transaction commits; registered once per transaction
+    private void markWritten(String principal) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, principal);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(principal, Boolean.TRUE);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadReplicaRoutingDataSource.this);
+            }
+        });
+    }
+
+    // Delegate every call to the target and pass its result through the callback
+    private static <T> T proxy(Class<T> type, Object target, BiFunction<Method, Object, Object> onResult) {
+        return type.cast(Proxy.newProxyInstance(ReadReplicaRoutingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return onResult.apply(method, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,74 @@
+package com.projectmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for Project and User, backed by Caffeine through JCache.
+ * Every region is created here with a bounded size and TTL; Hibernate is told to fail on
+ * regions it does not know instead of silently creating unbounded ones.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PROJECTS_REGION = "projects";
+    public static final String USERS_REGION = "users";
+    public static final String PROJECTS_BY_STATUS_REGION = "projects-by-status";
+    // Hibernate's own regions: results of cached queries without a named region, and the
+    // last-modified time per table used to invalidate cached queries
+    public static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.entities.max-size:10000}") long entityMaxSize,
+            @Value("${cache.entities.ttl:PT10M}") Duration entityTtl,
+            @Value("${cache.queries.max-size:1000}") long queryMaxSize,
+            @Value("${cache.queries.ttl:PT1M}") Duration queryTtl) {
+        // A manager of its own rather than the JVM-wide default one, so a second application context in
+        // the same JVM (cached test contexts, an embedded benchmark) neither clashes with nor shares these regions
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()),
+                provider.getDefaultClassLoader());
+        cacheManager.createCache(PROJECTS_REGION, bounded(entityMaxSize, entityTtl));
+        cacheManager.createCache(USERS_REGION, bounded(entityMaxSize, entityTtl));
+        cacheManager.createCache(PROJECTS_BY_STATUS_REGION, bounded(queryMaxSize, queryTtl));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, bounded(queryMaxSize, queryTtl));
+
+        // One entry per table and must outlive every cached query, so it is neither sized nor expired
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate stores immutable disassembled state, so copying entries on every access is wasted work
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
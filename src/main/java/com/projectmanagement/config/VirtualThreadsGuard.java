@@ -0,0 +1,71 @@
+package com.projectmanagement.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Driver;
+
+/**
+ * Startup checks for the virtual-thread mode (spring.threads.virtual.enabled=true), in which
+ * Tomcat request handling, @Async and MVC async work and scheduled tasks run on virtual threads.
+ * Before Java 21 Spring Boot silently keeps platform threads, which is logged. A JDBC driver that
+ * guards its socket I/O with synchronized blocks pins every virtual thread waiting on a query to
+ * its carrier, capping concurrency at the number of cores; MySQL Connector/J replaced those blocks
+ * with locks in 9.0, so older drivers fail startup unless pinning is explicitly accepted.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsGuard.class);
+
+    private static final String MYSQL_DRIVER = "com.mysql.cj.jdbc.Driver";
+    // First Connector/J major version without synchronized blocks around network I/O
+    private static final int MYSQL_UNPINNED_MAJOR_VERSION = 9;
+
+    private final String driverClassName;
+    private final boolean allowPinningDriver;
+
+    public VirtualThreadsGuard(@Value("${spring.datasource.driver-class-name:}") String driverClassName,
+                               @Value("${threads.virtual.allow-pinning-driver:false}") boolean allowPinningDriver) {
+        this.driverClassName = driverClassName;
+        this.allowPinningDriver = allowPinningDriver;
+    }
+
+    @PostConstruct
+    public void check() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests run on platform threads (build and run with Java 21, profile java21)", javaVersion);
+            return;
+        }
+        if (!MYSQL_DRIVER.equals(driverClassName)) {
+            return;
+        }
+        int driverVersion = mysqlDriverMajorVersion();
+        if (driverVersion >= MYSQL_UNPINNED_MAJOR_VERSION) {
+            logger.info("Handling requests on virtual threads (MySQL Connector/J {})", driverVersion);
+        } else if (allowPinningDriver) {
+            logger.warn("MySQL Connector/J {} pins virtual threads during queries; concurrency is limited "
+                    + "to the number of carrier threads", driverVersion);
+        } else {
+            throw new IllegalStateException("MySQL Connector/J " + driverVersion + " pins virtual threads to their "
+                    + "carriers during queries: use Connector/J " + MYSQL_UNPINNED_MAJOR_VERSION + "+ (profile java21), "
+                    + "disable spring.threads.virtual.enabled or set threads.virtual.allow-pinning-driver=true");
+        }
+    }
+
+    private static int mysqlDriverMajorVersion() {
+        try {
+            Driver driver = (Driver) Class.forName(MYSQL_DRIVER).getDeclaredConstructor().newInstance();
+            return driver.getMajorVersion();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load " + MYSQL_DRIVER, e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.service.ChangeFeedService;
+import com.projectmanagement.service.ProjectService;
+import com.projectmanagement.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+
+// Server-sent event streams of task and project changes (event names "task", "project" and "evicted")
+@RestController
+@RequestMapping("/api/projects")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserService userService;
+
+    // Changes of a project and its tasks
+    @GetMapping(value = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<SseEmitter> projectEvents(@PathVariable int projectId) {
+        if (projectService.getProjectById(projectId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(changeFeedService.subscribeToProject(projectId));
+    }
+
+    // Changes of the tasks assigned to the authenticated user
+    @GetMapping(value = "/events/me", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public SseEmitter myEvents(Principal principal) {
+        return changeFeedService.subscribeToUser(userService.getUserIdByEmail(principal.getName()));
+    }
+}
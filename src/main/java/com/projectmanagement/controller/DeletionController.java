@@ -0,0 +1,43 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.DeletionProgress;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.repository.CascadeDeleteRepository.Target;
+import com.projectmanagement.service.CascadeDeleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/projects/admin/deletions")
+public class DeletionController {
+
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+
+    // Progress of the background delete of a project or user, e.g. /project/12 (only admins)
+    @GetMapping("/{type}/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<DeletionProgress> getProgress(@PathVariable String type, @PathVariable int id) {
+        return cascadeDeleteService.getProgress(parseTarget(type), id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Where the delete endpoints point clients to follow the job
+    static URI progressLocation(DeletionProgress progress) {
+        return URI.create("/api/projects/admin/deletions/" + progress.getType() + "/" + progress.getId());
+    }
+
+    private static Target parseTarget(String type) {
+        try {
+            return Target.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Unknown type: " + type + " (expected project or user)");
+        }
+    }
+}
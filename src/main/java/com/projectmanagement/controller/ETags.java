@@ -0,0 +1,66 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.repository.CollectionVersion;
+import org.springframework.http.CacheControl;
+
+/**
+ * Entity versions as HTTP entity tags: a resource at version 7 has the ETag "7",
+ * and conditional updates send it back in If-Match. Views that embed other entities append
+ * their versions ("7.2.5" for a task whose project is at 2 and assignee at 5), and GET requests
+ * carrying a matching If-None-Match are answered with 304 before the body is serialized.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long... versions) {
+        StringBuilder tag = new StringBuilder("\"");
+        for (int i = 0; i < versions.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(versions[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    // Tag of a list: changes whenever a row of the collection is added, removed or updated
+    public static String of(CollectionVersion version) {
+        return of(version.count(), version.maxId(), version.versionSum());
+    }
+
+    // Clients may keep the response but must revalidate it with If-None-Match before each use
+    public static CacheControl revalidate() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    // Expected version of an update whose If-Match header is optional, or null without the header
+    public static Long parseVersionIfPresent(String ifMatch) {
+        return ifMatch == null || ifMatch.isBlank() ? null : parseVersion(ifMatch);
+    }
+
+    // Read the expected version from an If-Match header such as "7" or W/"7"
+    public static long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new CustomException("If-Match header with the current version is required");
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int embedded = tag.indexOf('.');
+        if (embedded >= 0) {
+            tag = tag.substring(0, embedded);  // Tag of a view: the resource's own version comes first
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new CustomException("If-Match must contain a single version, e.g. \"3\"");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.export.ExportFormat;
+import com.projectmanagement.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@RestController
+@RequestMapping("/api/projects/admin/export")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    @Autowired
+    private ExportService exportService;
+
+    // Export all tasks with their project and assignee names, e.g. ?format=csv (only admins)
+    @GetMapping("/tasks")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void exportTasks(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        export("tasks", ExportFormat.parse(format), response, exportService::exportTasks);
+    }
+
+    // Export all projects (only admins)
+    @GetMapping("/projects")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void exportProjects(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        export("projects", ExportFormat.parse(format), response, exportService::exportProjects);
+    }
+
+    // Export all project assignments (only admins)
+    @GetMapping("/assignments")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void exportAssignments(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                  HttpServletResponse response) throws IOException {
+        export("assignments", ExportFormat.parse(format), response, exportService::exportAssignments);
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        long export(ExportFormat format, OutputStream out) throws IOException;
+    }
+
+    // Written straight to the response, which is chunked since its length is not known up front
+    private static void export(String name, ExportFormat format, HttpServletResponse response,
+                               Exporter exporter) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build()
+                .toString());
+        long rows = exporter.export(format, response.getOutputStream());
+        logger.info("Exported {} {} as {}", rows, name, format);
+    }
+}
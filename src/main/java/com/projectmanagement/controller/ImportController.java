@@ -0,0 +1,95 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.ImportProgress;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.export.ExportFormat;
+import com.projectmanagement.service.ImportService;
+import com.projectmanagement.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/projects/admin/imports")
+public class ImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private UserService userService;
+
+    // Import projects or tasks from a multipart "file" upload, e.g. /tasks?format=csv (only admins).
+    // Returns 202 at once; the Location header points to the progress of the import.
+    @PostMapping("/{type}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ImportProgress> startImport(@PathVariable String type,
+                                                      @RequestParam("file") MultipartFile file,
+                                                      @RequestParam(value = "format", defaultValue = "ndjson") String format)
+            throws IOException {
+        ImportService.Target target = parseTarget(type);
+        ExportFormat importFormat = ExportFormat.parse(format);
+
+        // Projects without a creator in the file are attributed to the importing admin
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        int importedBy;
+        try {
+            importedBy = userService.getUserIdByEmail(authentication.getName());
+        } catch (Exception e) {
+            throw new CustomException("Unable to find user ID for email: " + authentication.getName());
+        }
+
+        ImportProgress progress = importService.submit(target, importFormat, file, importedBy);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/projects/admin/imports/" + progress.getId()))
+                .body(progress);
+    }
+
+    // Progress of an import (only admins)
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ImportProgress> getProgress(@PathVariable String id) {
+        return importService.getProgress(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // CSV of the rows that were not imported, with their line number and the reason (only admins)
+    @GetMapping("/{id}/errors")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void getErrors(@PathVariable String id, HttpServletResponse response) throws IOException {
+        Path errorFile = importService.getErrorFile(id).filter(Files::exists).orElse(null);
+        if (errorFile == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType(ExportFormat.CSV.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("import-" + id + "-errors.csv")
+                .build()
+                .toString());
+        Files.copy(errorFile, response.getOutputStream());
+    }
+
+    private static ImportService.Target parseTarget(String type) {
+        try {
+            return ImportService.Target.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Unknown type: " + type + " (expected projects or tasks)");
+        }
+    }
+}
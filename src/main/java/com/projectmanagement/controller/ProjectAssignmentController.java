@@ -1,6 +1,11 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.dto.BulkResult;
+import com.projectmanagement.dto.CursorPage;
+import com.projectmanagement.dto.MembershipSyncResult;
 import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.payload.PageQuery;
 import com.projectmanagement.service.ProjectAssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,24 +20,40 @@ public class ProjectAssignmentController {
     @Autowired
     private ProjectAssignmentService projectAssignmentService;
 
-    // Assign a user to a project (only admins)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    // Assign a user to a project; repeating the request returns the existing assignment (only admins)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @PostMapping
     public ProjectAssignment assignUserToProject(@RequestBody ProjectAssignment assignment) {
         return projectAssignmentService.assignUserToProject(assignment);
     }
 
-    // Get all assignments for a specific project (accessible by users with appropriate roles)
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
+    // Assign many users to projects in one request; failed items are listed in the result (only admins)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/bulk")
+    public BulkResult assignUsersToProjects(@RequestBody List<ProjectAssignment> assignments) {
+        return projectAssignmentService.assignUsersToProjects(assignments);
+    }
+
+    // Replace the members of a project with the given user IDs; only the differences are written (only admins)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PutMapping("/project/{projectId}/members")
+    public MembershipSyncResult setProjectMembers(@PathVariable int projectId, @RequestBody List<Integer> userIds) {
+        return projectAssignmentService.setProjectMembers(projectId, userIds);
+    }
+
+    // Get assignments for a specific project, paged (accessible by users with appropriate roles)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @GetMapping("/project/{projectId}")
-    public List<ProjectAssignment> getAssignmentsByProject(@PathVariable int projectId) {
-        return projectAssignmentService.getAssignmentsByProject(projectId);
+    public CursorPage<ProjectAssignment> getAssignmentsByProject(@PathVariable int projectId, PageQuery pageQuery) {
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, ProjectAssignmentService.SORT_KEYS);
+        return CursorPage.of(projectAssignmentService.getAssignmentsByProject(projectId, scrollRequest), scrollRequest.sort());
     }
 
-    // Get all assignments for a specific user (accessible by users with appropriate roles)
-    @PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
+    // Get assignments for a specific user, paged (accessible by users with appropriate roles)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     @GetMapping("/user/{userId}")
-    public List<ProjectAssignment> getAssignmentsByUser(@PathVariable int userId) {
-        return projectAssignmentService.getAssignmentsByUser(userId);
+    public CursorPage<ProjectAssignment> getAssignmentsByUser(@PathVariable int userId, PageQuery pageQuery) {
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, ProjectAssignmentService.SORT_KEYS);
+        return CursorPage.of(projectAssignmentService.getAssignmentsByUser(userId, scrollRequest), scrollRequest.sort());
     }
 }
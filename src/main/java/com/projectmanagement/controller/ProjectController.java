@@ -1,17 +1,24 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.dto.CursorPage;
+import com.projectmanagement.dto.DeletionProgress;
 import com.projectmanagement.model.Project;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.payload.PageQuery;
+import com.projectmanagement.payload.ProjectPatch;
 import com.projectmanagement.payload.ProjectRequest;
 import com.projectmanagement.service.ProjectService;
 import com.projectmanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -23,11 +30,17 @@ public class ProjectController {
     @Autowired
     private UserService userService;
 
-    // Get all projects
+    // Get all projects (paged, see PageQuery); 304 without fetching the page if the list is unchanged
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
-    public ResponseEntity<List<Project>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<CursorPage<Project>> getAllProjects(PageQuery pageQuery, WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(projectService.getAllProjectsVersion()))) {
+            return null;
+        }
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, ProjectService.SORT_KEYS);
+        return ResponseEntity.ok()
+                .cacheControl(ETags.revalidate())
+                .body(CursorPage.of(projectService.getAllProjects(scrollRequest), scrollRequest.sort()));
     }
 
     // Create a new project
@@ -54,41 +67,77 @@ public class ProjectController {
         return ResponseEntity.ok("Project created successfully");
     }
 
-    // Get project by ID
+    // Get project by ID; the ETag is its version, a matching If-None-Match gets 304
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
     public ResponseEntity<Project> getProjectById(@PathVariable int id) {
         return projectService.getProjectById(id)
-                .map(ResponseEntity::ok)
+                .map(project -> ResponseEntity.ok()
+                        .eTag(ETags.of(project.getVersion()))
+                        .cacheControl(ETags.revalidate())
+                        .body(project))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Update a project
+    // Update a project; with If-Match the update only applies to the version the client read
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<Project> updateProject(@PathVariable int id, @RequestBody Project project) {
-        return ResponseEntity.ok(projectService.updateProject(id, project));
+    public ResponseEntity<Project> updateProject(@PathVariable int id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody Project project) {
+        return ResponseEntity.ok(projectService.updateProject(id, ETags.parseVersionIfPresent(ifMatch), project));
     }
 
-    // Delete a project
+    // Change only the supplied fields of a project; If-Match must carry the version the client read
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> patchProject(@PathVariable int id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestBody ProjectPatch patch) {
+        long version = projectService.patchProject(id, ETags.parseVersion(ifMatch), patch);
+        return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+    }
+
+    // Delete a project; its tasks and assignments are removed in the background (202 with the job's progress)
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<String> deleteProject(@PathVariable int id) {
-        projectService.deleteProject(id);
-        return ResponseEntity.ok("Project deleted successfully");
+    public ResponseEntity<DeletionProgress> deleteProject(@PathVariable int id) {
+        DeletionProgress progress = projectService.deleteProject(id);
+        return ResponseEntity.accepted().location(DeletionController.progressLocation(progress)).body(progress);
     }
 
-    // Find projects by status
+    // Second-level cache hit/miss statistics (only admins)
+    @GetMapping("/admin/cache-stats")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Object>>> getEntityCacheStats() {
+        return ResponseEntity.ok(projectService.getEntityCacheStats());
+    }
+
+    // Find projects by status (paged)
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public ResponseEntity<List<Project>> getProjectsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(projectService.getProjectsByStatus(status));
+    public ResponseEntity<CursorPage<Project>> getProjectsByStatus(@PathVariable String status, PageQuery pageQuery,
+                                                                   WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(projectService.getProjectsByStatusVersion(status)))) {
+            return null;
+        }
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, ProjectService.SORT_KEYS);
+        return ResponseEntity.ok()
+                .cacheControl(ETags.revalidate())
+                .body(CursorPage.of(projectService.getProjectsByStatus(status, scrollRequest), scrollRequest.sort()));
     }
 
-    // Find projects created by a specific user
+    // Find projects created by a specific user (paged)
     @GetMapping("/creator/{createdBy}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public ResponseEntity<List<Project>> getProjectsByCreator(@PathVariable int createdBy) {
-        return ResponseEntity.ok(projectService.getProjectsByCreator(createdBy));
+    public ResponseEntity<CursorPage<Project>> getProjectsByCreator(@PathVariable int createdBy, PageQuery pageQuery,
+                                                                    WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(projectService.getProjectsByCreatorVersion(createdBy)))) {
+            return null;
+        }
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, ProjectService.SORT_KEYS);
+        return ResponseEntity.ok()
+                .cacheControl(ETags.revalidate())
+                .body(CursorPage.of(projectService.getProjectsByCreator(createdBy, scrollRequest), scrollRequest.sort()));
     }
 }
@@ -0,0 +1,55 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.SearchHit;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.search.SearchIndex;
+import com.projectmanagement.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/projects")
+public class SearchController {
+
+    // Largest number of hits returned by one search
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchService searchService;
+
+    // Search project names, descriptions and task names, e.g. ?q=release desi*&type=task
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<List<SearchHit>> search(@RequestParam("q") String query,
+                                                  @RequestParam(value = "type", required = false) String type,
+                                                  @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new CustomException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(searchService.search(query, parseType(type), limit));
+    }
+
+    // Rebuild the search index from the database (only admins)
+    @PostMapping("/admin/search/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildSearchIndex() {
+        return ResponseEntity.ok(Map.of("documents", searchService.rebuild()));
+    }
+
+    private static SearchIndex.Type parseType(String type) {
+        if (type == null || type.isEmpty()) {
+            return null;
+        }
+        try {
+            return SearchIndex.Type.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Unknown type: " + type + " (expected project or task)");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.SyncPage;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/projects")
+public class SyncController {
+
+    // Largest number of change log entries read by one request
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private SyncService syncService;
+
+    // Tasks, projects and assignments changed after the cursor (0 for everything still in the change log),
+    // with the cursor to pass as "after" next time
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<SyncPage> getChanges(@RequestParam(value = "after", defaultValue = "0") long after,
+                                               @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new CustomException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(syncService.getChanges(after, limit));
+    }
+}
@@ -1,9 +1,24 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.dto.BulkResult;
+import com.projectmanagement.dto.CursorPage;
+import com.projectmanagement.dto.ProjectTaskSummary;
+import com.projectmanagement.dto.TaskCounts;
+import com.projectmanagement.dto.TaskView;
 import com.projectmanagement.model.Task;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.payload.PageQuery;
+import com.projectmanagement.payload.TaskFilter;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.payload.TaskRequest;
 import com.projectmanagement.service.TaskService;
+import com.projectmanagement.service.TaskStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,32 +29,82 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
-    // Get all tasks
+    @Autowired
+    private TaskStatisticsService taskStatisticsService;
+
+    // Get all tasks, optionally filtered by project, assignee, status and creation window (paged, see PageQuery);
+    // 304 without fetching the page if the matching tasks are unchanged
     @GetMapping
-    public List<Task> getAllTasks() {
-        return taskService.getAllTasks();
+    public ResponseEntity<CursorPage<TaskView>> getAllTasks(TaskFilter taskFilter, PageQuery pageQuery, WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(taskService.getAllTasksVersion(taskFilter)))) {
+            return null;
+        }
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, TaskService.SORT_KEYS);
+        return ResponseEntity.ok()
+                .cacheControl(ETags.revalidate())
+                .body(CursorPage.of(taskService.getAllTasks(taskFilter, scrollRequest), scrollRequest.sort()));
+    }
+
+    // Count the tasks of a project per status
+    @GetMapping("/counts/project/{projectId}")
+    public TaskCounts countTasksByProject(@PathVariable int projectId) {
+        return taskService.countTasksByProject(projectId);
+    }
+
+    // Task statistics of a project (per status, per assignee, completion), served from in-memory counters
+    @GetMapping("/summary/project/{projectId}")
+    public ProjectTaskSummary getProjectSummary(@PathVariable int projectId) {
+        return taskStatisticsService.getProjectSummary(projectId);
+    }
+
+    // Count the tasks assigned to a user per status
+    @GetMapping("/counts/user/{userId}")
+    public TaskCounts countTasksByAssignee(@PathVariable int userId) {
+        return taskService.countTasksByAssignee(userId);
     }
 
     // Create a new task
     @PostMapping
-    public Task createTask(@RequestBody Task task) {
+    public TaskView createTask(@RequestBody Task task) {
         // Set createdAt field to current date/time
         task.setCreatedAt(new java.util.Date());
-        return taskService.createTask(task);  // Delegate to service
+        return TaskView.from(taskService.createTask(task));  // Delegate to service
+    }
+
+    // Create many tasks in one request; failed items are listed in the result (only admins)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/bulk")
+    public BulkResult createTasks(@RequestBody List<TaskRequest> tasks) {
+        return taskService.createTasks(tasks);
     }
 
-    // Get task by ID
+    // Get task by ID; the ETag combines the versions of the task, its project and its assignee
     @GetMapping("/{id}")
-    public Task getTaskById(@PathVariable int id) {
-        // Handle Optional<Task> returned by taskService.getTaskById(id)
-        return taskService.getTaskById(id)
+    public ResponseEntity<TaskView> getTaskById(@PathVariable int id) {
+        // Handle Optional<TaskView> returned by taskService.getTaskById(id)
+        TaskView task = taskService.getTaskById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found with ID: " + id));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(task.getVersion(), task.getProjectVersion(), task.getAssigneeVersion()))
+                .cacheControl(ETags.revalidate())
+                .body(task);
     }
 
-    // Update a task
+    // Update a task; with If-Match the update only applies to the version the client read
     @PutMapping("/{id}")
-    public Task updateTask(@PathVariable int id, @RequestBody Task task) {
-        return taskService.updateTask(id, task); // Delegate to service
+    public TaskView updateTask(@PathVariable int id,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                               @RequestBody Task task) {
+        return TaskView.from(taskService.updateTask(id, ETags.parseVersionIfPresent(ifMatch), task)); // Delegate to service
+    }
+
+    // Change only the supplied fields of a task; If-Match must carry the version the client read
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable int id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody TaskPatch patch) {
+        long version = taskService.patchTask(id, ETags.parseVersion(ifMatch), patch);
+        return ResponseEntity.noContent().eTag(ETags.of(version)).build();
     }
 
     // Delete a task
@@ -1,26 +1,35 @@
 package com.projectmanagement.controller;
 
+import com.projectmanagement.dto.CursorPage;
+import com.projectmanagement.dto.DeletionProgress;
 import com.projectmanagement.dto.UserDetailsResponse;
 import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.exception.PasswordHashingUnavailableException;
 import com.projectmanagement.model.AuthRequest;
 import com.projectmanagement.model.User;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.payload.PageQuery;
+import com.projectmanagement.payload.UserPatch;
 import com.projectmanagement.security.JwtUtil;
+import com.projectmanagement.security.LoginRateLimiter;
 import com.projectmanagement.service.CustomUserDetailsService;
 import com.projectmanagement.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth/users")
@@ -38,6 +47,9 @@ public class UserController {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     // Test endpoint (for testing purposes)
     @GetMapping("/test")
     public String testEndpoint() {
@@ -46,13 +58,17 @@ public class UserController {
 
     // Register a new user
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody User user) {
+    public ResponseEntity<String> registerUser(@RequestBody User user, HttpServletRequest request) {
+        // Throttle before any password hashing happens; rejected attempts get 429
+        loginRateLimiter.acquire(user.getEmail(), request.getRemoteAddr());
         try {
             if (userService.existsByEmail(user.getEmail())) {
                 return new ResponseEntity<>("Email is already taken", HttpStatus.BAD_REQUEST);
             }
             userService.createUser(user); // UserService handles password encoding
             return new ResponseEntity<>("User registered successfully", HttpStatus.CREATED);
+        } catch (PasswordHashingUnavailableException e) {
+            throw e;  // Answered with 503 by the GlobalExceptionHandler
         } catch (Exception e) {
             e.printStackTrace();
             return new ResponseEntity<>("Error registering user", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -61,59 +77,87 @@ public class UserController {
 
     // Login endpoint that returns a JWT token
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody AuthRequest authRequest) {
+    public ResponseEntity<String> login(@RequestBody AuthRequest authRequest, HttpServletRequest request) {
+        // Throttle before the password encoder is reached; rejected attempts get 429
+        loginRateLimiter.acquire(authRequest.getEmail(), request.getRemoteAddr());
         try {
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
             );
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(authRequest.getEmail());
+            // The authenticated principal already holds the loaded user, no need to query it again
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             String token = jwtUtil.generateToken(userDetails);
             return new ResponseEntity<>(token, HttpStatus.OK);
+        } catch (PasswordHashingUnavailableException e) {
+            throw e;  // Answered with 503 by the GlobalExceptionHandler
         } catch (Exception e) {
             return new ResponseEntity<>("Invalid credentials", HttpStatus.UNAUTHORIZED);
         }
     }
 
-    // Get all users (secured)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    // Get all users (secured, paged)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @GetMapping
-    public List<UserDetailsResponse> getAllUsers() {
-        return userService.getAllUsers()
-                .stream()
-                .map(user -> new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole()))
-                .collect(Collectors.toList());
+    public ResponseEntity<CursorPage<UserDetailsResponse>> getAllUsers(PageQuery pageQuery, WebRequest webRequest) {
+        if (webRequest.checkNotModified(ETags.of(userService.getAllUsersVersion()))) {
+            return null;  // 304, the page is not fetched
+        }
+        ScrollRequest scrollRequest = ScrollRequest.from(pageQuery, UserService.SORT_KEYS);
+        return ResponseEntity.ok()
+                .cacheControl(ETags.revalidate())
+                .body(CursorPage.of(userService.getAllUsers(scrollRequest), scrollRequest.sort(),
+                        user -> new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getVersion())));
     }
 
     // Create a new user (secured)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @PostMapping
     public User createUser(@RequestBody User user) {
         return userService.createUser(user);
     }
 
     // Get user by ID (secured)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @GetMapping("/{id}")
-    public UserDetailsResponse getUserById(@PathVariable int id) {
+    public ResponseEntity<UserDetailsResponse> getUserById(@PathVariable int id) {
         User user = userService.getUserById(id);
-        return new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole());
+        return withETag(new UserDetailsResponse(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getVersion()));
+    }
+
+    // User cache hit/miss statistics (secured)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/cache-stats")
+    public Map<String, Map<String, Object>> getUserCacheStats() {
+        return userService.getUserCacheStats();
     }
 
-    // Update a user (secured)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    // Update a user; with If-Match the update only applies to the version the client read (secured)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @PutMapping("/{id}")
-    public User updateUser(@PathVariable int id, @RequestBody User user) {
-        return userService.updateUser(id, user);
+    public User updateUser(@PathVariable int id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                           @RequestBody User user) {
+        return userService.updateUser(id, ETags.parseVersionIfPresent(ifMatch), user);
     }
 
-    // Endpoint for deleting a user (secured for admin only)
-    @PreAuthorize("hasAuthority('ADMIN')")
+    // Change only the supplied fields of a user; If-Match must carry the version the client read (secured)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchUser(@PathVariable int id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody UserPatch patch) {
+        long version = userService.patchUser(id, ETags.parseVersion(ifMatch), patch);
+        return ResponseEntity.noContent().eTag(ETags.of(version)).build();
+    }
+
+    // Endpoint for deleting a user (secured for admin only); their tasks and assignments are removed in the background
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteUser(@PathVariable int id) {
+    public ResponseEntity<?> deleteUser(@PathVariable int id) {
         try {
-            userService.deleteUser(id);
-            return ResponseEntity.ok("User deleted successfully.");
+            DeletionProgress progress = userService.deleteUser(id);
+            return ResponseEntity.accepted().location(DeletionController.progressLocation(progress)).body(progress);
         } catch (CustomException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
         }
@@ -121,16 +165,24 @@ public class UserController {
 
     // Get details of the authenticated user
     @GetMapping("/me")
-    public UserDetailsResponse getAuthenticatedUser(Principal principal) {
+    public ResponseEntity<UserDetailsResponse> getAuthenticatedUser(Principal principal) {
         String email = principal.getName();
-        return userService.getUserDetailsByEmail(email);
+        return withETag(userService.getUserDetailsByEmail(email));
     }
 
     // Get user details from token
     @GetMapping("/me/token")
-    public UserDetailsResponse getUserFromToken(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<UserDetailsResponse> getUserFromToken(@RequestHeader("Authorization") String token) {
         String jwtToken = token.substring(7); // Remove "Bearer " prefix
         String email = jwtUtil.extractUsername(jwtToken);
-        return userService.getUserDetailsByEmail(email);
+        return withETag(userService.getUserDetailsByEmail(email));
+    }
+
+    // The user's version as ETag, so polling clients get 304 while it is unchanged
+    private static ResponseEntity<UserDetailsResponse> withETag(UserDetailsResponse user) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(user.getVersion()))
+                .cacheControl(ETags.revalidate())
+                .body(user);
     }
 }
@@ -0,0 +1,85 @@
+package com.projectmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk create request: how many items were created and which ones failed.
+ * Failed items are reported by their zero-based index in the request.
+ */
+public class BulkResult {
+    private int requested;
+    private int created;
+    private List<ItemError> failures = new ArrayList<>();
+
+    // Default constructor
+    public BulkResult() {}
+
+    public BulkResult(int requested) {
+        this.requested = requested;
+    }
+
+    // Record a failed item
+    public void fail(int index, String message) {
+        failures.add(new ItemError(index, message));
+    }
+
+    // Count created items
+    public void addCreated(int count) {
+        created += count;
+    }
+
+    // Getters and setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public List<ItemError> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<ItemError> failures) {
+        this.failures = failures;
+    }
+
+    public static class ItemError {
+        private int index;
+        private String message;
+
+        // Default constructor
+        public ItemError() {}
+
+        public ItemError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
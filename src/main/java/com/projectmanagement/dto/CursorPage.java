@@ -0,0 +1,67 @@
+package com.projectmanagement.dto;
+
+import com.projectmanagement.pagination.CursorCodec;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint. Pass nextCursor back as the "cursor" parameter to fetch the next page;
+ * it is null on the last page.
+ */
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    // Default constructor
+    public CursorPage() {}
+
+    // Constructor to initialize fields
+    public CursorPage(List<T> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // Build a page from a scrolled window, encoding the position after its last item
+    public static <T> CursorPage<T> of(Window<T> window, Sort sort) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? CursorCodec.encode(window.positionAt(window.size() - 1), sort)
+                : null;
+        return new CursorPage<>(window.getContent(), nextCursor, nextCursor != null);
+    }
+
+    // Build a page from a scrolled window, mapping each item (e.g. entity to DTO)
+    public static <S, T> CursorPage<T> of(Window<S> window, Sort sort, Function<? super S, T> mapper) {
+        CursorPage<S> page = of(window, sort);
+        return new CursorPage<>(page.getItems().stream().<T>map(mapper).toList(), page.getNextCursor(), page.isHasNext());
+    }
+
+    // Getters and setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
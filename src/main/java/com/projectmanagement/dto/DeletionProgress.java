@@ -0,0 +1,94 @@
+package com.projectmanagement.dto;
+
+import java.util.Date;
+
+/**
+ * Progress of the background cascade delete of one project or user.
+ * Written only by the job's thread and read by status requests, hence the volatile fields.
+ */
+public class DeletionProgress {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String type;
+    private final int id;
+    private volatile State state = State.QUEUED;
+    private volatile long assignmentsDeleted;
+    private volatile long tasksDeleted;
+    private volatile int batches;
+    private volatile Date startedAt;
+    private volatile Date finishedAt;
+    private volatile String error;
+
+    public DeletionProgress(String type, int id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public void start() {
+        startedAt = new Date();
+        state = State.RUNNING;
+    }
+
+    public void addAssignmentsDeleted(int count) {
+        assignmentsDeleted += count;
+        batches++;
+    }
+
+    public void addTasksDeleted(int count) {
+        tasksDeleted += count;
+        batches++;
+    }
+
+    public void complete() {
+        finishedAt = new Date();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = new Date();
+        state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getAssignmentsDeleted() {
+        return assignmentsDeleted;
+    }
+
+    public long getTasksDeleted() {
+        return tasksDeleted;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
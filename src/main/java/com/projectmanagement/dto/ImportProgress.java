@@ -0,0 +1,103 @@
+package com.projectmanagement.dto;
+
+import java.util.Date;
+
+/**
+ * Progress of one background import. Written only by the job's thread and read by status
+ * requests, hence the volatile fields.
+ */
+public class ImportProgress {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String type;
+    private final String fileName;
+    private volatile State state = State.QUEUED;
+    private volatile long rowsRead;
+    private volatile long created;
+    private volatile long failed;
+    private volatile int chunks;
+    private volatile Date startedAt;
+    private volatile Date finishedAt;
+    private volatile String error;
+
+    public ImportProgress(String id, String type, String fileName) {
+        this.id = id;
+        this.type = type;
+        this.fileName = fileName;
+    }
+
+    public void start() {
+        startedAt = new Date();
+        state = State.RUNNING;
+    }
+
+    // Record a processed chunk of rows
+    public void addChunk(int rows, int createdRows, int failedRows) {
+        rowsRead += rows;
+        created += createdRows;
+        failed += failedRows;
+        chunks++;
+    }
+
+    public void complete() {
+        finishedAt = new Date();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = new Date();
+        state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
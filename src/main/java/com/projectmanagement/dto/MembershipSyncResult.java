@@ -0,0 +1,57 @@
+package com.projectmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of setting the members of a project: which users were added and removed,
+ * and how many were already members.
+ */
+public class MembershipSyncResult {
+    private int projectId;
+    private List<Integer> added;
+    private List<Integer> removed;
+    private int unchanged;
+
+    // Default constructor
+    public MembershipSyncResult() {}
+
+    public MembershipSyncResult(int projectId, List<Integer> added, List<Integer> removed, int unchanged) {
+        this.projectId = projectId;
+        this.added = added;
+        this.removed = removed;
+        this.unchanged = unchanged;
+    }
+
+    // Getters and setters
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public List<Integer> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<Integer> added) {
+        this.added = added;
+    }
+
+    public List<Integer> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<Integer> removed) {
+        this.removed = removed;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+}
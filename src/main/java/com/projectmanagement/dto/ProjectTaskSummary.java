@@ -0,0 +1,77 @@
+package com.projectmanagement.dto;
+
+import java.util.Map;
+
+/**
+ * Task statistics of one project: counts per status and per assignee, and the share of completed tasks.
+ */
+public class ProjectTaskSummary {
+    private int projectId;
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<Integer, Long> byAssignee;
+    private long completed;
+    private double completionPercentage;
+
+    // Default constructor
+    public ProjectTaskSummary() {}
+
+    public ProjectTaskSummary(int projectId, long total, Map<String, Long> byStatus, Map<Integer, Long> byAssignee,
+                              long completed, double completionPercentage) {
+        this.projectId = projectId;
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byAssignee = byAssignee;
+        this.completed = completed;
+        this.completionPercentage = completionPercentage;
+    }
+
+    // Getters and setters
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<Integer, Long> getByAssignee() {
+        return byAssignee;
+    }
+
+    public void setByAssignee(Map<Integer, Long> byAssignee) {
+        this.byAssignee = byAssignee;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public double getCompletionPercentage() {
+        return completionPercentage;
+    }
+
+    public void setCompletionPercentage(double completionPercentage) {
+        this.completionPercentage = completionPercentage;
+    }
+}
@@ -0,0 +1,64 @@
+package com.projectmanagement.dto;
+
+/**
+ * One search result: a project or a task, its name and the project it belongs to.
+ */
+public class SearchHit {
+    private String type;
+    private int id;
+    private String title;
+    private int projectId;
+    private double score;
+
+    // Default constructor
+    public SearchHit() {}
+
+    public SearchHit(String type, int id, String title, int projectId, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.projectId = projectId;
+        this.score = score;
+    }
+
+    // Getters and setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,65 @@
+package com.projectmanagement.dto;
+
+/**
+ * One changed entity in a delta-sync page: its current state, or deleted = true and no data.
+ * Type is "task" (data is a TaskView), "project" or "assignment".
+ */
+public class SyncChange {
+    private long seq;
+    private String type;
+    private int id;
+    private boolean deleted;
+    private Object data;
+
+    // Default constructor
+    public SyncChange() {}
+
+    public SyncChange(long seq, String type, int id, boolean deleted, Object data) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.deleted = deleted;
+        this.data = data;
+    }
+
+    // Getters and setters
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,58 @@
+package com.projectmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Changes after a delta-sync cursor, each entity at most once. Pass cursor back as "after" to fetch
+ * the next changes; hasMore says whether they are already waiting. With resync set the cursor is too
+ * old to be served: reload everything, then continue from the returned cursor.
+ */
+public class SyncPage {
+    private List<SyncChange> changes;
+    private long cursor;
+    private boolean hasMore;
+    private boolean resync;
+
+    // Default constructor
+    public SyncPage() {}
+
+    public SyncPage(List<SyncChange> changes, long cursor, boolean hasMore, boolean resync) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+        this.resync = resync;
+    }
+
+    // Getters and setters
+    public List<SyncChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<SyncChange> changes) {
+        this.changes = changes;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(long cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public void setResync(boolean resync) {
+        this.resync = resync;
+    }
+}
@@ -0,0 +1,37 @@
+package com.projectmanagement.dto;
+
+import java.util.Map;
+
+/**
+ * Number of tasks in a project or assigned to a user, in total and per status.
+ */
+public class TaskCounts {
+    private long total;
+    private Map<String, Long> byStatus;
+
+    // Default constructor
+    public TaskCounts() {}
+
+    // Constructor to initialize fields
+    public TaskCounts(long total, Map<String, Long> byStatus) {
+        this.total = total;
+        this.byStatus = byStatus;
+    }
+
+    // Getters and setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+}
@@ -0,0 +1,151 @@
+package com.projectmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projectmanagement.model.Task;
+
+import java.util.Date;
+
+/**
+ * Flat read model of a task: the task columns plus the id and name of its project and assignee.
+ * Used by the task read endpoints instead of serializing the entity graph.
+ */
+public class TaskView {
+    private int id;
+    private String taskName;
+    private String status;
+    private Date createdAt;
+    private int projectId;
+    private String projectName;
+    private int assigneeId;
+    private String assigneeName;
+    private long version;  // Sent back in If-Match to PATCH the task
+    // Versions of the project and assignee the names were read from; only part of the ETag
+    @JsonIgnore
+    private long projectVersion;
+    @JsonIgnore
+    private long assigneeVersion;
+
+    // Default constructor
+    public TaskView() {}
+
+    // Constructor to initialize fields
+    public TaskView(int id, String taskName, String status, Date createdAt,
+                    int projectId, String projectName, int assigneeId, String assigneeName, long version) {
+        this.id = id;
+        this.taskName = taskName;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.assigneeId = assigneeId;
+        this.assigneeName = assigneeName;
+        this.version = version;
+    }
+
+    // Map a task whose project and assignee are already loaded
+    public static TaskView from(Task task) {
+        TaskView view = new TaskView(
+                task.getId(),
+                task.getTaskName(),
+                task.getStatus(),
+                task.getCreatedAt(),
+                task.getProject().getId(),
+                task.getProject().getProjectName(),
+                task.getAssignedTo().getId(),
+                task.getAssignedTo().getName(),
+                task.getVersion()
+        );
+        view.setProjectVersion(task.getProject().getVersion());
+        view.setAssigneeVersion(task.getAssignedTo().getVersion());
+        return view;
+    }
+
+    // Getters and setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public int getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(int assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public String getAssigneeName() {
+        return assigneeName;
+    }
+
+    public void setAssigneeName(String assigneeName) {
+        this.assigneeName = assigneeName;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getProjectVersion() {
+        return projectVersion;
+    }
+
+    public void setProjectVersion(long projectVersion) {
+        this.projectVersion = projectVersion;
+    }
+
+    public long getAssigneeVersion() {
+        return assigneeVersion;
+    }
+
+    public void setAssigneeVersion(long assigneeVersion) {
+        this.assigneeVersion = assigneeVersion;
+    }
+}
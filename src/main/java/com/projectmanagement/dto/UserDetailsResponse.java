@@ -5,16 +5,18 @@ public class UserDetailsResponse {
     private String email;
     private String name;
     private String role;
+    private long version;  // Sent back in If-Match to PATCH the user
 
     // Default constructor
     public UserDetailsResponse() {}
 
     // Constructor to initialize fields
-    public UserDetailsResponse(int id, String email, String name, String role) {
+    public UserDetailsResponse(int id, String email, String name, String role, long version) {
         this.id = id;
         this.email = email;
         this.name = name;
         this.role = role;
+        this.version = version;
     }
 
     // Getters and setters
@@ -49,4 +51,12 @@ public class UserDetailsResponse {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
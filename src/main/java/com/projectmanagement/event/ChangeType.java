@@ -0,0 +1,9 @@
+package com.projectmanagement.event;
+
+// Kind of write behind a change event
+public enum ChangeType {
+    CREATED,
+    UPDATED,  // Full update, every field of the event is set
+    PATCHED,  // Partial update, null fields were not changed
+    DELETED
+}
@@ -0,0 +1,32 @@
+package com.projectmanagement.event;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.payload.ProjectPatch;
+
+/**
+ * Published by ProjectService for every project write. Listeners should handle it with
+ * {@code @TransactionalEventListener}, so they only see writes that were committed.
+ * DELETED is published when the project is marked as deleting and hidden from reads.
+ */
+public record ProjectChangedEvent(int projectId, ChangeType change, String projectName, String description, String status) {
+
+    public static ProjectChangedEvent created(Project project) {
+        return of(ChangeType.CREATED, project);
+    }
+
+    public static ProjectChangedEvent updated(Project project) {
+        return of(ChangeType.UPDATED, project);
+    }
+
+    public static ProjectChangedEvent patched(int projectId, ProjectPatch patch) {
+        return new ProjectChangedEvent(projectId, ChangeType.PATCHED, patch.getProjectName(), patch.getDescription(), patch.getStatus());
+    }
+
+    public static ProjectChangedEvent deleted(int projectId) {
+        return new ProjectChangedEvent(projectId, ChangeType.DELETED, null, null, null);
+    }
+
+    private static ProjectChangedEvent of(ChangeType change, Project project) {
+        return new ProjectChangedEvent(project.getId(), change, project.getProjectName(), project.getDescription(), project.getStatus());
+    }
+}
@@ -0,0 +1,39 @@
+package com.projectmanagement.event;
+
+import com.projectmanagement.model.Task;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.payload.TaskRequest;
+
+/**
+ * Published by TaskService for every task write, including bulk creates and patches.
+ * Before is null on CREATED and after is null on DELETED. A patch is a single UPDATE that does not
+ * read the row, so on PATCHED before only carries the previous project of a moved task and after
+ * only the supplied fields. Listeners should handle it with {@code @TransactionalEventListener},
+ * so they only see writes that were committed.
+ */
+public record TaskChangedEvent(int taskId, ChangeType change, TaskState before, TaskState after) {
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(task.getId(), ChangeType.CREATED, null, TaskState.of(task));
+    }
+
+    // A task inserted by a bulk request, identified by its generated ID
+    public static TaskChangedEvent created(int taskId, TaskRequest request) {
+        return new TaskChangedEvent(taskId, ChangeType.CREATED, null,
+                new TaskState(request.getTaskName(), request.getStatus(), request.getProjectId(), request.getAssigneeId()));
+    }
+
+    public static TaskChangedEvent updated(TaskState before, Task task) {
+        return new TaskChangedEvent(task.getId(), ChangeType.UPDATED, before, TaskState.of(task));
+    }
+
+    public static TaskChangedEvent patched(int taskId, Integer previousProjectId, TaskPatch patch) {
+        TaskState before = previousProjectId != null ? new TaskState(null, null, previousProjectId, null) : null;
+        return new TaskChangedEvent(taskId, ChangeType.PATCHED, before,
+                new TaskState(patch.getTaskName(), patch.getStatus(), patch.getProjectId(), patch.getAssigneeId()));
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(task.getId(), ChangeType.DELETED, TaskState.of(task), null);
+    }
+}
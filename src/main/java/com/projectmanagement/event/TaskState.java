@@ -0,0 +1,11 @@
+package com.projectmanagement.event;
+
+import com.projectmanagement.model.Task;
+
+// The fields of a task carried by a TaskChangedEvent; in a patch, null fields were not changed
+public record TaskState(String taskName, String status, Integer projectId, Integer assigneeId) {
+
+    public static TaskState of(Task task) {
+        return new TaskState(task.getTaskName(), task.getStatus(), task.getProject().getId(), task.getAssignedTo().getId());
+    }
+}
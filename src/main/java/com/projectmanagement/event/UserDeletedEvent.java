@@ -0,0 +1,8 @@
+package com.projectmanagement.event;
+
+/**
+ * Published by UserService when a user is marked as deleting. The tasks assigned to the user are
+ * hidden from that point on and removed by the background cascade delete.
+ */
+public record UserDeletedEvent(int userId) {
+}
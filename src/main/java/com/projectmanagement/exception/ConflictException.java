@@ -0,0 +1,12 @@
+package com.projectmanagement.exception;
+
+/**
+ * Thrown when a conditional update finds the resource at a different version than the client read.
+ * Mapped to 409 Conflict.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
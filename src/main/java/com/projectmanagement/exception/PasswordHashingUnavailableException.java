@@ -0,0 +1,16 @@
+package com.projectmanagement.exception;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot accept more work.
+ * Mapped to 503 Service Unavailable so clients back off instead of tying up request threads.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.projectmanagement.exception;
+
+/**
+ * Thrown when a feature is temporarily unable to answer, e.g. while an index is being built.
+ * Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
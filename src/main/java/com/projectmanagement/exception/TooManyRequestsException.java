@@ -0,0 +1,19 @@
+package com.projectmanagement.exception;
+
+/**
+ * Thrown when a client or account exceeds its login/registration rate.
+ * Mapped to 429 Too Many Requests with a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
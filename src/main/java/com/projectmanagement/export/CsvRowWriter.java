@@ -0,0 +1,63 @@
+package com.projectmanagement.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// RFC 4180 CSV: a header line, CRLF line endings, fields quoted only when they need it
+class CsvRowWriter<T> implements RowWriter<T> {
+
+    private final List<ExportColumn<T>> columns;
+    private final Writer out;
+
+    CsvRowWriter(List<ExportColumn<T>> columns, Writer out) throws IOException {
+        this.columns = columns;
+        this.out = out;
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(columns.get(i).name());
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = columns.get(i).valueOf(row);
+            if (value != null) {
+                writeField(value.toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
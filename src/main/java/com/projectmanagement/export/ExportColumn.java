@@ -0,0 +1,14 @@
+package com.projectmanagement.export;
+
+import java.util.Date;
+import java.util.function.Function;
+
+// One exported field: its CSV header / JSON property name and how to read it from a row
+public record ExportColumn<T>(String name, Function<T, Object> getter) {
+
+    // Value as written: numbers, booleans and strings as they are, dates as ISO-8601 instants
+    Object valueOf(T row) {
+        Object value = getter.apply(row);
+        return value instanceof Date date ? date.toInstant().toString() : value;
+    }
+}
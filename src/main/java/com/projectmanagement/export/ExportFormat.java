@@ -0,0 +1,35 @@
+package com.projectmanagement.export;
+
+import com.projectmanagement.exception.CustomException;
+
+import java.util.Locale;
+
+// File formats of the export and import endpoints
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Unknown format: " + format + " (expected ndjson or csv)");
+        }
+    }
+}
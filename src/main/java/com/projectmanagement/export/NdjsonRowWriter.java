@@ -0,0 +1,35 @@
+package com.projectmanagement.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+// One JSON object per line, with the columns as properties
+class NdjsonRowWriter<T> implements RowWriter<T> {
+
+    private final List<ExportColumn<T>> columns;
+    private final JsonGenerator generator;
+
+    NdjsonRowWriter(List<ExportColumn<T>> columns, JsonGenerator generator) {
+        this.columns = columns;
+        // The stream belongs to the caller
+        this.generator = generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        generator.writeStartObject();
+        for (ExportColumn<T> column : columns) {
+            generator.writeFieldName(column.name());
+            generator.writeObject(column.valueOf(row));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
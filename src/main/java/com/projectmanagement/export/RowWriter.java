@@ -0,0 +1,26 @@
+package com.projectmanagement.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes exported rows one at a time to a character stream, so nothing but the current row is held
+ * in memory. {@link #finish()} flushes what is still buffered; the caller owns the stream.
+ */
+public interface RowWriter<T> {
+
+    void write(T row) throws IOException;
+
+    void finish() throws IOException;
+
+    static <T> RowWriter<T> create(ExportFormat format, List<ExportColumn<T>> columns,
+                                   Writer out, JsonFactory jsonFactory) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowWriter<>(columns, jsonFactory.createGenerator(out));
+            case CSV -> new CsvRowWriter<>(columns, out);
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.projectmanagement.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header line naming the fields. Quoted fields may contain commas, doubled
+ * quotes and line breaks; records are reported by the line they start on.
+ */
+class CsvRowReader implements RowReader {
+
+    private final PushbackReader in;
+    private final List<String> header = new ArrayList<>();
+    private long line = 1;  // Line of the next character
+    private String recordError;
+
+    CsvRowReader(BufferedReader in) throws IOException {
+        this.in = new PushbackReader(in);
+        List<String> names = readRecord();
+        if (names != null) {
+            for (String name : names) {
+                header.add(name.replace("\uFEFF", "").trim());  // Spreadsheets often prepend a byte order mark
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            long start = line;
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            if (recordError != null) {
+                return ImportRow.malformed(start, recordError);
+            }
+            if (values.size() == 1 && values.get(0).isEmpty()) {
+                continue;  // Blank line
+            }
+            if (values.size() != header.size()) {
+                return ImportRow.malformed(start, "Expected " + header.size() + " fields but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return new ImportRow(start, fields, null);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Fields of the next record, null at the end of the input
+    private List<String> readRecord() throws IOException {
+        recordError = null;
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    recordError = "Unterminated quoted field";
+                    break;
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                line++;
+                break;
+            } else if (c == '\r') {
+                int next = in.read();
+                if (next != '\n' && next != -1) {
+                    in.unread(next);
+                }
+                line++;
+                break;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
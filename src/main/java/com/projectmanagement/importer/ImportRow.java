@@ -0,0 +1,24 @@
+package com.projectmanagement.importer;
+
+import java.util.Map;
+
+/**
+ * One record of an import file: its fields by name and the line it starts on. A record that could
+ * not be parsed carries the reason instead of fields.
+ */
+public record ImportRow(long line, Map<String, String> fields, String error) {
+
+    static ImportRow malformed(long line, String error) {
+        return new ImportRow(line, Map.of(), error);
+    }
+
+    // Trimmed value of the field, null when it is missing or blank
+    public String get(String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,25 @@
+package com.projectmanagement.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.export.ExportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an import file one record at a time, so only the current record is held in memory.
+ * Malformed records are returned as rows carrying an error rather than ending the import.
+ */
+public interface RowReader extends Closeable {
+
+    // The next record, or null at the end of the file
+    ImportRow next() throws IOException;
+
+    static RowReader open(ExportFormat format, BufferedReader in, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonRowReader(in, objectMapper);
+            case CSV -> new CsvRowReader(in);
+        };
+    }
+}
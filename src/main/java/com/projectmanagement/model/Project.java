@@ -1,16 +1,27 @@
 package com.projectmanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projectmanagement.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.Date;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "projects")
+@Cacheable
+@SQLRestriction("deleting = false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECTS_REGION)
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_status", columnList = "status"),
+        @Index(name = "idx_projects_created_by", columnList = "created_by")
+})
 public class Project {
 
     @Id
@@ -34,4 +45,14 @@ public class Project {
 
     @Column(name = "status", nullable = false, length = 20)
     private String status = "IN_PROGRESS"; // Default status
+
+    // Optimistic locking: incremented on every update, PATCH requests must send the current value
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Set when a delete was requested; the row is hidden from reads until the cascade delete removes it
+    @JsonIgnore
+    @Column(name = "deleting", nullable = false)
+    private boolean deleting;
 }
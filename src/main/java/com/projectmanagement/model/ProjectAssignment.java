@@ -10,7 +10,9 @@ import java.util.Date;
 @Getter
 @Setter
 @Entity
-@Table(name = "project_assignments")
+@Table(name = "project_assignments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_project_assignments_project_user", columnNames = {"project_id", "user_id"}),
+        indexes = @Index(name = "idx_project_assignments_user", columnList = "user_id"))
 public class ProjectAssignment {
 
     @Id
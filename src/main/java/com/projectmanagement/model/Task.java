@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_status", columnList = "project_id, status"),
+        @Index(name = "idx_tasks_assignee_status", columnList = "assigned_to, status")
+})
 public class Task {
 
     @Id
@@ -19,11 +22,12 @@ public class Task {
     @Column(name = "status", nullable = false)
     private String status;  // Changed from enum to String
 
-    @ManyToOne
+    // Lazy so writes don't load the project and user; reads fetch them with an entity graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to", nullable = false)
     private User assignedTo;
 
@@ -31,6 +35,11 @@ public class Task {
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 
+    // Optimistic locking: incremented on every update, PATCH requests must send the current value
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Getters and setters
     public int getId() {
         return id;
@@ -79,4 +88,12 @@ public class Task {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
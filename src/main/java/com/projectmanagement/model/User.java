@@ -1,9 +1,14 @@
 package com.projectmanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.projectmanagement.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -14,6 +19,9 @@ import java.util.Date;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@SQLRestriction("deleting = false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS_REGION)
 @Table(name = "users")
 public class User {
 
@@ -39,6 +47,21 @@ public class User {
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 
+    // Bumped whenever previously issued tokens must stop being accepted (role or password change)
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    // Optimistic locking: incremented on every update, PATCH requests must send the current value
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Set when a delete was requested; the row is hidden from reads until the cascade delete removes it
+    @JsonIgnore
+    @Column(name = "deleting", nullable = false)
+    private boolean deleting;
+
     // Method to return authorities (roles) as GrantedAuthority
 
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,137 @@
+package com.projectmanagement.pagination;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.projectmanagement.exception.CustomException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a scroll position together with the sort it belongs to into an opaque, URL-safe cursor.
+ * Key values keep their Java type so they bind back to the same column type when decoded.
+ */
+public final class CursorCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private CursorCodec() {
+    }
+
+    // Decoded cursor: the position to continue from and the sort it was created with
+    public record Cursor(ScrollPosition position, Sort sort) {
+    }
+
+    public static String encode(ScrollPosition position, Sort sort) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode sortNode = root.putArray("sort");
+        for (Sort.Order order : sort) {
+            sortNode.add(order.getProperty() + ":" + order.getDirection().name());
+        }
+
+        if (position instanceof OffsetScrollPosition offsetPosition) {
+            root.put("offset", offsetPosition.getOffset());
+        } else if (position instanceof KeysetScrollPosition keysetPosition) {
+            ObjectNode keys = root.putObject("keys");
+            keysetPosition.getKeys().forEach((property, value) -> keys.set(property, encodeValue(value)));
+        } else {
+            throw new IllegalArgumentException("Unsupported scroll position: " + position);
+        }
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(root));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    public static Cursor decode(String cursor, SortKeys sortKeys) {
+        try {
+            JsonNode root = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+
+            List<Sort.Order> orders = new ArrayList<>();
+            for (JsonNode orderNode : root.path("sort")) {
+                String[] parts = orderNode.asText().split(":");
+                if (parts.length != 2 || !sortKeys.isAllowed(parts[0])) {
+                    throw new CustomException("Invalid cursor");
+                }
+                orders.add(new Sort.Order(Sort.Direction.valueOf(parts[1]), parts[0]));
+            }
+            Sort sort = Sort.by(orders);
+
+            if (root.has("offset")) {
+                return new Cursor(ScrollPosition.offset(root.get("offset").asLong()), sort);
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = root.path("keys").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!sortKeys.isAllowed(field.getKey())) {
+                    throw new CustomException("Invalid cursor");
+                }
+                keys.put(field.getKey(), decodeValue(field.getValue()));
+            }
+            if (keys.isEmpty()) {
+                throw new CustomException("Invalid cursor");
+            }
+            return new Cursor(ScrollPosition.forward(keys), sort);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CustomException("Invalid cursor");
+        }
+    }
+
+    // Store each key as [type, value] so it can be restored with its original type
+    private static ArrayNode encodeValue(Object value) {
+        ArrayNode node = MAPPER.createArrayNode();
+        if (value instanceof Integer intValue) {
+            node.add("i").add(intValue);
+        } else if (value instanceof Long longValue) {
+            node.add("l").add(longValue);
+        } else if (value instanceof String stringValue) {
+            node.add("s").add(stringValue);
+        } else if (value instanceof Timestamp timestamp) {
+            // Keep sub-millisecond precision, otherwise rows sharing the millisecond would repeat
+            node.add("t").add(timestamp.getTime()).add(timestamp.getNanos());
+        } else if (value instanceof Date date) {
+            node.add("d").add(date.getTime());
+        } else {
+            throw new IllegalArgumentException("Unsupported cursor key type: " + value);
+        }
+        return node;
+    }
+
+    private static Object decodeValue(JsonNode node) {
+        String type = node.path(0).asText();
+        JsonNode value = node.path(1);
+        switch (type) {
+            case "i":
+                return value.asInt();
+            case "l":
+                return value.asLong();
+            case "s":
+                return value.asText();
+            case "t":
+                Timestamp timestamp = new Timestamp(value.asLong());
+                timestamp.setNanos(node.path(2).asInt());
+                return timestamp;
+            case "d":
+                return new Date(value.asLong());
+            default:
+                throw new IllegalArgumentException("Unsupported cursor key type: " + type);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.projectmanagement.pagination;
+
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.payload.PageQuery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Resolved page request: where to continue, how to order and how many items to return.
+ * Keyset (cursor) pagination is the default; offset pagination via "page" is kept for small pages only.
+ */
+public record ScrollRequest(ScrollPosition position, Sort sort, int size) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+    public static final int MAX_OFFSET_PAGE_SIZE = 50;
+
+    public Limit limit() {
+        return Limit.of(size);
+    }
+
+    // Resolve the query parameters of a list endpoint against the sortable properties of the resource
+    public static ScrollRequest from(PageQuery query, SortKeys sortKeys) {
+        int size = query.getSize() != null ? query.getSize() : DEFAULT_SIZE;
+        if (size < 1) {
+            throw new CustomException("Page size must be at least 1");
+        }
+        size = Math.min(size, MAX_SIZE);  // Cap the page size
+
+        // A cursor carries its own sort, so the sort parameter is ignored when continuing
+        if (query.getCursor() != null && !query.getCursor().isEmpty()) {
+            CursorCodec.Cursor cursor = CursorCodec.decode(query.getCursor(), sortKeys);
+            return new ScrollRequest(cursor.position(), cursor.sort(), size);
+        }
+
+        Sort sort = parseSort(query.getSort(), sortKeys);
+        if (query.getPage() != null) {
+            if (query.getPage() < 0) {
+                throw new CustomException("Page must not be negative");
+            }
+            if (size > MAX_OFFSET_PAGE_SIZE) {
+                throw new CustomException("Offset pagination is limited to " + MAX_OFFSET_PAGE_SIZE
+                        + " items per page, use the cursor instead");
+            }
+            long offset = (long) query.getPage() * size;
+            ScrollPosition position = offset == 0 ? ScrollPosition.offset() : ScrollPosition.offset(offset - 1);
+            return new ScrollRequest(position, sort, size);
+        }
+        return new ScrollRequest(ScrollPosition.keyset(), sort, size);
+    }
+
+    // Parse "property" or "property,asc|desc" and append the id as a unique tie-breaker
+    private static Sort parseSort(String sortParam, SortKeys sortKeys) {
+        String property = sortKeys.idProperty();
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (sortParam != null && !sortParam.isEmpty()) {
+            String[] parts = sortParam.split(",");
+            property = parts[0].trim();
+            if (!sortKeys.isAllowed(property)) {
+                throw new CustomException("Unsupported sort property: " + property);
+            }
+            if (parts.length > 1) {
+                direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new CustomException("Unsupported sort direction: " + parts[1]));
+            }
+        }
+
+        Sort sort = Sort.by(direction, property);
+        if (!property.equals(sortKeys.idProperty())) {
+            sort = sort.and(Sort.by(direction, sortKeys.idProperty()));
+        }
+        return sort;
+    }
+}
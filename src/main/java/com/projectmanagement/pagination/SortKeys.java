@@ -0,0 +1,18 @@
+package com.projectmanagement.pagination;
+
+import java.util.Set;
+
+/**
+ * Sortable properties of a resource plus its unique id property, which is always
+ * appended as the final sort key so keyset positions are stable.
+ */
+public record SortKeys(String idProperty, Set<String> allowed) {
+
+    public static SortKeys of(String idProperty, String... allowed) {
+        return new SortKeys(idProperty, Set.of(allowed));
+    }
+
+    public boolean isAllowed(String property) {
+        return idProperty.equals(property) || allowed.contains(property);
+    }
+}
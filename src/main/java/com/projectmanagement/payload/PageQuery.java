@@ -0,0 +1,45 @@
+package com.projectmanagement.payload;
+
+/**
+ * Query parameters accepted by the list endpoints:
+ * cursor (from a previous page), size, sort ("property" or "property,desc") and page (offset fallback).
+ */
+public class PageQuery {
+    private String cursor;
+    private Integer size;
+    private String sort;
+    private Integer page;
+
+    // Getters and Setters
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+}
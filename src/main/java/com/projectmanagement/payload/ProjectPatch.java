@@ -0,0 +1,35 @@
+package com.projectmanagement.payload;
+
+/**
+ * Partial update of a project: only the non-null fields are changed.
+ */
+public class ProjectPatch {
+    private String projectName;
+    private String description;
+    private String status;
+
+    // Getters and Setters
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,62 @@
+package com.projectmanagement.payload;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * Optional filters for the task list endpoint. Unset fields do not restrict the result.
+ * createdFrom is inclusive, createdTo is exclusive; both are ISO-8601 date-times.
+ */
+public class TaskFilter {
+    private Integer projectId;
+    private Integer assigneeId;
+    private String status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date createdTo;
+
+    // Getters and Setters
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Integer projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Integer assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(Date createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public Date getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(Date createdTo) {
+        this.createdTo = createdTo;
+    }
+}
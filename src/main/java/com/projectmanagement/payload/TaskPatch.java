@@ -0,0 +1,44 @@
+package com.projectmanagement.payload;
+
+/**
+ * Partial update of a task: only the non-null fields are changed.
+ */
+public class TaskPatch {
+    private String taskName;
+    private String status;
+    private Integer projectId;
+    private Integer assigneeId;
+
+    // Getters and Setters
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Integer projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Integer assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.projectmanagement.payload;
+
+/**
+ * One task of a bulk create request, referencing its project and assignee by ID.
+ */
+public class TaskRequest {
+    private String taskName;
+    private String status;
+    private Integer projectId;
+    private Integer assigneeId;
+
+    // Getters and Setters
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Integer projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Integer assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+}
@@ -0,0 +1,45 @@
+package com.projectmanagement.payload;
+
+/**
+ * Partial update of a user: only the non-null fields are changed.
+ * A new password is hashed before it is stored.
+ */
+public class UserPatch {
+    private String name;
+    private String email;
+    private String role;
+    private String password;
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
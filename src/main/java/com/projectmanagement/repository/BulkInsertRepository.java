@@ -0,0 +1,120 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.payload.TaskRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Batched native inserts for bulk endpoints. Entities use IDENTITY ids, which disables Hibernate's
+ * JDBC batching, so bulk rows are written with JdbcTemplate instead. With rewriteBatchedStatements
+ * on the MySQL URL each batch becomes a single multi-row INSERT.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkInsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Insert tasks whose project and assignee IDs have already been validated; returns the generated IDs in order
+    public List<Integer> insertTasks(List<TaskRequest> tasks, Date createdAt) {
+        Timestamp timestamp = new Timestamp(createdAt.getTime());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO tasks (task_name, status, project_id, assigned_to, created_at) VALUES (?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        TaskRequest task = tasks.get(i);
+                        statement.setString(1, task.getTaskName());
+                        statement.setString(2, task.getStatus());
+                        statement.setInt(3, task.getProjectId());
+                        statement.setInt(4, task.getAssigneeId());
+                        statement.setTimestamp(5, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                },
+                keyHolder);
+        return generatedIds(keyHolder);
+    }
+
+    // Insert projects whose creator ID has already been validated; returns the generated IDs in order
+    public List<Integer> insertProjects(List<Project> projects, Date createdAt) {
+        Timestamp timestamp = new Timestamp(createdAt.getTime());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO projects (project_name, description, created_by, created_at, status) VALUES (?, ?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Project project = projects.get(i);
+                        statement.setString(1, project.getProjectName());
+                        statement.setString(2, project.getDescription());
+                        statement.setInt(3, project.getCreatedBy());
+                        statement.setTimestamp(4, timestamp);
+                        statement.setString(5, project.getStatus());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return projects.size();
+                    }
+                },
+                keyHolder);
+        return generatedIds(keyHolder);
+    }
+
+    // Insert project assignments whose project and user IDs have already been validated; returns the generated IDs in order
+    public List<Integer> insertAssignments(List<ProjectAssignment> assignments, Date assignedAt) {
+        Timestamp timestamp = new Timestamp(assignedAt.getTime());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO project_assignments (project_id, user_id, assigned_at) VALUES (?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        ProjectAssignment assignment = assignments.get(i);
+                        statement.setInt(1, assignment.getProjectId());
+                        statement.setInt(2, assignment.getUserId());
+                        statement.setTimestamp(3, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return assignments.size();
+                    }
+                },
+                keyHolder);
+        return generatedIds(keyHolder);
+    }
+
+    private static List<Integer> generatedIds(KeyHolder keyHolder) {
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).intValue())
+                .toList();
+    }
+}
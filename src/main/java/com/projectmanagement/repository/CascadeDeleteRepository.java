@@ -0,0 +1,83 @@
+package com.projectmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Native statements behind the background cascade delete of projects and users. Rows marked as
+ * deleting are invisible to the JPA entities, so they are found and removed here. Dependent rows are
+ * deleted at most {@code limit} at a time, each call is meant to run in its own short transaction.
+ */
+@Repository
+public class CascadeDeleteRepository {
+
+    // What is deleted and which columns of the dependent tables point at it
+    public enum Target {
+        PROJECT("projects", "project_id", "project_id", "project_id"),
+        USER("users", "user_id", "user_id", "assigned_to");
+
+        private final String table;
+        private final String idColumn;
+        private final String assignmentColumn;
+        private final String taskColumn;
+
+        Target(String table, String idColumn, String assignmentColumn, String taskColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.assignmentColumn = assignmentColumn;
+            this.taskColumn = taskColumn;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public CascadeDeleteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // IDs of all rows still marked as deleting
+    public List<Integer> findMarked(Target target) {
+        return jdbcTemplate.queryForList(
+                "SELECT " + target.idColumn + " FROM " + target.table + " WHERE deleting = TRUE", Integer.class);
+    }
+
+    public boolean isMarked(Target target, int id) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM " + target.table + " WHERE " + target.idColumn + " = ? AND deleting = TRUE",
+                Integer.class, id).isEmpty();
+    }
+
+    // Delete up to limit project assignments of the project or user and return the IDs of the removed rows
+    public List<Integer> deleteAssignments(Target target, int id, int limit) {
+        return deleteSelected("project_assignments", "assignment_id", target.assignmentColumn, id, limit);
+    }
+
+    // Delete up to limit tasks of the project (or assigned to the user) and return the IDs of the removed rows
+    public List<Integer> deleteTasks(Target target, int id, int limit) {
+        return deleteSelected("tasks", "task_id", target.taskColumn, id, limit);
+    }
+
+    // Delete the marked row itself; fails on the foreign keys if dependent tasks are left
+    public int deleteMarked(Target target, int id) {
+        return jdbcTemplate.update(
+                "DELETE FROM " + target.table + " WHERE " + target.idColumn + " = ? AND deleting = TRUE", id);
+    }
+
+    // The IDs are read first (locking the rows) so the change log can record exactly the rows deleted
+    private List<Integer> deleteSelected(String table, String idColumn, String column, int id, int limit) {
+        List<Integer> ids = jdbcTemplate.queryForList(
+                "SELECT " + idColumn + " FROM " + table + " WHERE " + column + " = ? LIMIT ? FOR UPDATE",
+                Integer.class, id, limit);
+        if (!ids.isEmpty()) {
+            namedParameterJdbcTemplate.update(
+                    "DELETE FROM " + table + " WHERE " + idColumn + " IN (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+        return ids;
+    }
+}
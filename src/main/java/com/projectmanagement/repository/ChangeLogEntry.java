@@ -0,0 +1,11 @@
+package com.projectmanagement.repository;
+
+import java.util.Date;
+
+/**
+ * One row of the change log: an entity that was written, or deleted, at the given sequence number.
+ */
+public record ChangeLogEntry(long seq, Type type, int entityId, boolean deleted, Date changedAt) {
+
+    public enum Type { TASK, PROJECT, ASSIGNMENT }
+}
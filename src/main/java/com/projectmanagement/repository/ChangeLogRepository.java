@@ -0,0 +1,93 @@
+package com.projectmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Native statements of the change log. Entries are appended in the transaction of the write they
+ * record and read back in sequence order along the primary key.
+ */
+@Repository
+public class ChangeLogRepository {
+
+    private static final RowMapper<ChangeLogEntry> ENTRY = (resultSet, rowNum) -> new ChangeLogEntry(
+            resultSet.getLong("seq"),
+            ChangeLogEntry.Type.valueOf(resultSet.getString("entity_type")),
+            resultSet.getInt("entity_id"),
+            resultSet.getBoolean("deleted"),
+            new Date(resultSet.getTimestamp("changed_at").getTime()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // Append one entry per ID in a single batch
+    public void insert(ChangeLogEntry.Type type, Collection<Integer> entityIds, boolean deleted, Date changedAt) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = new Timestamp(changedAt.getTime());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO change_log (entity_type, entity_id, deleted, changed_at) VALUES (?, ?, ?, ?)",
+                entityIds, entityIds.size(), (statement, entityId) -> {
+                    statement.setString(1, type.name());
+                    statement.setInt(2, entityId);
+                    statement.setBoolean(3, deleted);
+                    statement.setTimestamp(4, timestamp);
+                });
+    }
+
+    // Append an entry for each assignment of the users to the project, found through the unique (project_id, user_id) key
+    public void insertForAssignments(int projectId, Collection<Integer> userIds, boolean deleted, Date changedAt) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(
+                "INSERT INTO change_log (entity_type, entity_id, deleted, changed_at)"
+                        + " SELECT :type, assignment_id, :deleted, :changedAt FROM project_assignments"
+                        + " WHERE project_id = :projectId AND user_id IN (:userIds)",
+                new MapSqlParameterSource()
+                        .addValue("type", ChangeLogEntry.Type.ASSIGNMENT.name())
+                        .addValue("deleted", deleted)
+                        .addValue("changedAt", new Timestamp(changedAt.getTime()))
+                        .addValue("projectId", projectId)
+                        .addValue("userIds", userIds));
+    }
+
+    // Entries after the given sequence number, oldest first
+    public List<ChangeLogEntry> findAfter(long seq, int limit) {
+        return jdbcTemplate.query(
+                "SELECT seq, entity_type, entity_id, deleted, changed_at FROM change_log WHERE seq > ? ORDER BY seq LIMIT ?",
+                ENTRY, seq, limit);
+    }
+
+    // The most recent entries, newest first
+    public List<ChangeLogEntry> findLatest(int limit) {
+        return jdbcTemplate.query(
+                "SELECT seq, entity_type, entity_id, deleted, changed_at FROM change_log ORDER BY seq DESC LIMIT ?",
+                ENTRY, limit);
+    }
+
+    // Lowest sequence number still in the log, 0 if it is empty
+    public long findMinSeq() {
+        Long seq = jdbcTemplate.queryForObject("SELECT MIN(seq) FROM change_log", Long.class);
+        return seq != null ? seq : 0;
+    }
+
+    // Delete the entries up to and including the given sequence number
+    public int deleteThrough(long seq) {
+        return jdbcTemplate.update("DELETE FROM change_log WHERE seq <= ?", seq);
+    }
+}
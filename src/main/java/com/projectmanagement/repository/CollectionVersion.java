@@ -0,0 +1,22 @@
+package com.projectmanagement.repository;
+
+/**
+ * Cheap fingerprint of a collection for its ETag: the row count, the highest ID and the sum of
+ * the row versions. An insert raises the highest ID past any earlier value, a delete lowers the
+ * count and an update raises the version sum, so the triple changes with every write.
+ */
+public record CollectionVersion(long count, long maxId, long versionSum) {
+
+    // From a "count, max(id), sum(version)..." row; further columns are added to the version sum
+    static CollectionVersion of(Object[] row) {
+        long versionSum = 0;
+        for (int i = 2; i < row.length; i++) {
+            versionSum += longValue(row[i]);
+        }
+        return new CollectionVersion(longValue(row[0]), longValue(row[1]), versionSum);
+    }
+
+    private static long longValue(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();  // Aggregates of an empty collection are null
+    }
+}
@@ -0,0 +1,68 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * One aggregate query per list endpoint, computing the CollectionVersion its ETag is built from,
+ * so a poll of an unchanged list is answered without fetching the page.
+ */
+@Repository
+public class CollectionVersionRepository {
+
+    private static final String PROJECTS = "select count(p), max(p.id), sum(p.version) from Project p";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CollectionVersion projects() {
+        return CollectionVersion.of(entityManager.createQuery(PROJECTS, Object[].class).getSingleResult());
+    }
+
+    public CollectionVersion projectsByStatus(String status) {
+        return CollectionVersion.of(entityManager.createQuery(PROJECTS + " where p.status = :status", Object[].class)
+                .setParameter("status", status)
+                .getSingleResult());
+    }
+
+    public CollectionVersion projectsByCreator(int createdBy) {
+        return CollectionVersion.of(entityManager.createQuery(PROJECTS + " where p.createdBy = :createdBy", Object[].class)
+                .setParameter("createdBy", createdBy)
+                .getSingleResult());
+    }
+
+    public CollectionVersion users() {
+        return CollectionVersion.of(entityManager.createQuery(
+                "select count(u), max(u.id), sum(u.version) from User u", Object[].class).getSingleResult());
+    }
+
+    // Tasks matching the specification; the listed views embed project and assignee names, so their versions count too
+    public CollectionVersion tasks(Specification<Task> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, Project> project = task.join("project");
+        Join<Task, User> assignee = task.join("assignedTo");
+        query.multiselect(
+                criteriaBuilder.count(task),
+                criteriaBuilder.max(task.get("id")),
+                criteriaBuilder.sum(task.<Long>get("version")),
+                criteriaBuilder.sum(project.<Long>get("version")),
+                criteriaBuilder.sum(assignee.<Long>get("version")));
+        Predicate predicate = specification.toPredicate(task, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return CollectionVersion.of(entityManager.createQuery(query).getSingleResult());
+    }
+}
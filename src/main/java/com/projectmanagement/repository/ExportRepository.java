@@ -0,0 +1,64 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Forward-only cursors over whole tables for the export endpoints. Rows are fetched from the driver
+ * export.fetch-size at a time, loaded read-only and kept out of the second-level cache; callers
+ * detach each entity once written, so the persistence context does not grow with the table.
+ * The streams must be consumed and closed inside a transaction.
+ */
+@Repository
+public class ExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public ExportRepository(@Value("${export.fetch-size:1000}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public Stream<Project> streamProjects() {
+        return stream(entityManager.createQuery("select p from Project p order by p.id", Project.class));
+    }
+
+    // Projected straight into TaskView: no Task, Project or User entities are loaded at all
+    public Stream<TaskView> streamTasks() {
+        return stream(entityManager.createQuery(
+                "select new com.projectmanagement.dto.TaskView(t.id, t.taskName, t.status, t.createdAt,"
+                        + " p.id, p.projectName, u.id, u.name, t.version)"
+                        + " from Task t join t.project p join t.assignedTo u order by t.id", TaskView.class));
+    }
+
+    // The joins skip assignments of projects and users that are being deleted
+    public Stream<ProjectAssignment> streamAssignments() {
+        return stream(entityManager.createQuery(
+                "select a from ProjectAssignment a join Project p on p.id = a.projectId"
+                        + " join User u on u.id = a.userId order by a.assignmentId", ProjectAssignment.class));
+    }
+
+    public void detach(Object entity) {
+        entityManager.detach(entity);
+    }
+
+    private <T> Stream<T> stream(TypedQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,11 @@
+package com.projectmanagement.repository;
+
+/**
+ * Projection of an ID together with the name (or email) it was looked up by.
+ */
+public interface NamedId {
+
+    int getId();
+
+    String getName();
+}
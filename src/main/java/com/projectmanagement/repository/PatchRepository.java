@@ -0,0 +1,101 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.ProjectPatch;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.payload.UserPatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Partial updates as a single conditional UPDATE: only the supplied fields are set, the version is
+ * incremented and the row must still be at the version the client read. Each method returns the
+ * number of updated rows, so 0 means the row is gone or was changed concurrently.
+ */
+@Repository
+public class PatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public int patchTask(int id, long expectedVersion, TaskPatch patch) {
+        Update update = new Update()
+                .set("taskName", patch.getTaskName())
+                .set("status", patch.getStatus());
+        if (patch.getProjectId() != null) {
+            update.set("project", entityManager.getReference(Project.class, patch.getProjectId()));
+        }
+        if (patch.getAssigneeId() != null) {
+            update.set("assignedTo", entityManager.getReference(User.class, patch.getAssigneeId()));
+        }
+        return update.execute("Task", id, expectedVersion);
+    }
+
+    @Transactional
+    public int patchProject(int id, long expectedVersion, ProjectPatch patch) {
+        return new Update()
+                .set("projectName", patch.getProjectName())
+                .set("description", patch.getDescription())
+                .set("status", patch.getStatus())
+                .execute("Project", id, expectedVersion);
+    }
+
+    // The password must already be encoded. Previously issued tokens are revoked when the password or role changes.
+    @Transactional
+    public int patchUser(int id, long expectedVersion, UserPatch patch) {
+        Update update = new Update();
+        // Assigned before the role itself, MySQL evaluates later assignments against the new values
+        if (patch.getPassword() != null) {
+            update.expression("e.tokenVersion = e.tokenVersion + 1");
+        } else if (patch.getRole() != null) {
+            update.expression("e.tokenVersion = e.tokenVersion + case when e.role <> :role then 1 else 0 end");
+        }
+        return update
+                .set("name", patch.getName())
+                .set("email", patch.getEmail())
+                .set("role", patch.getRole())
+                .set("password", patch.getPassword())
+                .execute("User", id, expectedVersion);
+    }
+
+    // JPQL UPDATE with a dynamic SET clause
+    private final class Update {
+        private final StringBuilder assignments = new StringBuilder();
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Assign the property if a value was supplied
+        private Update set(String property, Object value) {
+            if (value != null) {
+                expression("e." + property + " = :" + property);
+                parameters.put(property, value);
+            }
+            return this;
+        }
+
+        private Update expression(String assignment) {
+            if (!assignments.isEmpty()) {
+                assignments.append(", ");
+            }
+            assignments.append(assignment);
+            return this;
+        }
+
+        private int execute(String entityName, int id, long expectedVersion) {
+            expression("e.version = e.version + 1");
+            Query query = entityManager.createQuery("update " + entityName + " e set " + assignments
+                    + " where e.id = :id and e.version = :version");
+            parameters.forEach(query::setParameter);
+            query.setParameter("id", id);
+            query.setParameter("version", expectedVersion);
+            return query.executeUpdate();
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package com.projectmanagement.repository;
 
 import com.projectmanagement.model.ProjectAssignment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectAssignmentRepository extends JpaRepository<ProjectAssignment, Integer> {
@@ -15,6 +25,20 @@ public interface ProjectAssignmentRepository extends JpaRepository<ProjectAssign
     // Find all assignments by user ID
     List<ProjectAssignment> findByUserId(int userId);
 
-    // Check if a user is already assigned to a project
-    boolean existsByProjectIdAndUserId(int projectId, int userId);
+    // Keyset/offset scrolling variants used by the paged lookup endpoints
+    Window<ProjectAssignment> findByProjectId(int projectId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProjectAssignment> findByUserId(int userId, ScrollPosition position, Sort sort, Limit limit);
+
+    // Existing assignments among the given projects and users (a superset of the requested pairs)
+    List<ProjectAssignment> findByProjectIdInAndUserIdIn(Collection<Integer> projectIds, Collection<Integer> userIds);
+
+    // The assignment of a user to a project, if any, read with a shared row lock. A locking read sees the
+    // latest committed row, also one committed after the snapshot of a REPEATABLE READ transaction.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<ProjectAssignment> findForShareByProjectIdAndUserId(int projectId, int userId);
+
+    // IDs of the current members of a project
+    @Query("select a.userId from ProjectAssignment a where a.projectId = :projectId")
+    List<Integer> findUserIdsByProjectId(@Param("projectId") int projectId);
 }
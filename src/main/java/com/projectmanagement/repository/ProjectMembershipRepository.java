@@ -0,0 +1,78 @@
+package com.projectmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Native writes for project membership. The unique (project_id, user_id) constraint is what keeps
+ * assignments free of duplicates, so these statements never check before they insert.
+ */
+@Repository
+public class ProjectMembershipRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ProjectMembershipRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // Insert one assignment and return its ID; an existing pair raises DuplicateKeyException
+    public int insert(int projectId, int userId, Date assignedAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO project_assignments (project_id, user_id, assigned_at) VALUES (?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setInt(1, projectId);
+            statement.setInt(2, userId);
+            statement.setTimestamp(3, new Timestamp(assignedAt.getTime()));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().intValue();
+    }
+
+    // Add users to a project in one batch; pairs inserted concurrently in the meantime are left as they are.
+    // INSERT ... SELECT ... WHERE NOT EXISTS runs on MySQL and on the embedded H2 database alike.
+    public void insertIfAbsent(int projectId, List<Integer> userIds, Date assignedAt) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = new Timestamp(assignedAt.getTime());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO project_assignments (project_id, user_id, assigned_at)"
+                        + " SELECT ?, ?, ? FROM DUAL WHERE NOT EXISTS"
+                        + " (SELECT 1 FROM project_assignments WHERE project_id = ? AND user_id = ?)",
+                userIds, userIds.size(), (statement, userId) -> {
+                    statement.setInt(1, projectId);
+                    statement.setInt(2, userId);
+                    statement.setTimestamp(3, timestamp);
+                    statement.setInt(4, projectId);
+                    statement.setInt(5, userId);
+                });
+    }
+
+    // Remove users from a project in one statement
+    public int delete(int projectId, Collection<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(
+                "DELETE FROM project_assignments WHERE project_id = :projectId AND user_id IN (:userIds)",
+                new MapSqlParameterSource()
+                        .addValue("projectId", projectId)
+                        .addValue("userIds", userIds));
+    }
+}
@@ -0,0 +1,44 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the cached project queries after native writes to the projects table. Hibernate invalidates
+ * its query cache only for statements it runs itself, so without this, rows inserted or deleted
+ * through JdbcTemplate would stay missing from (or listed in) cached findByStatus results until
+ * the region's TTL expires.
+ */
+@Component
+public class ProjectQueryCache {
+
+    private final Cache cache;
+
+    public ProjectQueryCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    // Evict once the current transaction commits, so a query run in between cannot cache the old rows
+    // for good; nothing is evicted on rollback. Without a transaction the region is evicted right away.
+    public void evictAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict();
+            }
+        });
+    }
+
+    private void evict() {
+        cache.evictQueryRegion(SecondLevelCacheConfig.PROJECTS_BY_STATUS_REGION);
+    }
+}
@@ -1,20 +1,71 @@
 package com.projectmanagement.repository;
 
+import com.projectmanagement.config.SecondLevelCacheConfig;
 import com.projectmanagement.model.Project;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Integer> {
 
-    // Find projects by the status (e.g., "In Progress", "Completed")
+    // Find projects by the status (e.g., "In Progress", "Completed"); results are kept in the query cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.PROJECTS_BY_STATUS_REGION)
+    })
     List<Project> findByStatus(String status);
 
     // Find projects created by a specific user (using created_by field)
     List<Project> findByCreatedBy(int createdBy);
 
+    // Keyset/offset scrolling variants used by the paged list endpoints
+    Window<Project> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Cached as well: the cache key includes the status, position, sort and limit
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.PROJECTS_BY_STATUS_REGION)
+    })
+    Window<Project> findByStatus(String status, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Project> findByCreatedBy(int createdBy, ScrollPosition position, Sort sort, Limit limit);
+
+    // Which of the given IDs exist, in a single IN query (used to validate bulk requests)
+    @Query("select p.id from Project p where p.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // IDs of the projects with the given names, in a single IN query (used to resolve import references)
+    @Query("select p.id as id, p.projectName as name from Project p where p.projectName in :names")
+    List<NamedId> findIdsByProjectNames(@Param("names") Collection<String> names);
+
+    // Load a project with a row lock held until the end of the transaction (serializes membership syncs)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Project> findForUpdateById(int id);
+
+    // Hide the project from reads until CascadeDeleteService removes it. The version bump makes
+    // concurrent updates of the old state fail; returns 0 if it is missing or already marked.
+    @Transactional
+    @Modifying
+    @Query("update Project p set p.deleting = true, p.version = p.version + 1 where p.id = :id")
+    int markDeleting(@Param("id") int id);
+
     // You can add more custom queries if needed
 
 }
@@ -0,0 +1,15 @@
+package com.projectmanagement.repository;
+
+/**
+ * Projection of a "group by project, status and assignee" count query.
+ */
+public interface ProjectTaskCount {
+
+    int getProjectId();
+
+    String getStatus();
+
+    int getAssigneeId();
+
+    long getCount();
+}
@@ -0,0 +1,76 @@
+package com.projectmanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads the searchable fields of projects and tasks for rebuilding the search index. Rows are read in
+ * keyset pages within an ID range, so the rebuild can split the tables into ranges loaded in
+ * parallel. Projects and users being deleted are skipped, like in every other read.
+ */
+@Repository
+public class SearchSourceRepository {
+
+    public record IdRange(int min, int max) {
+    }
+
+    public record ProjectRow(int id, String projectName, String description) {
+    }
+
+    public record TaskRow(int id, String taskName, int projectId, int assigneeId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchSourceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Lowest and highest project ID, null when there are no projects
+    public IdRange projectIdRange() {
+        return idRange("SELECT MIN(project_id), MAX(project_id) FROM projects");
+    }
+
+    // Lowest and highest task ID, null when there are no tasks
+    public IdRange taskIdRange() {
+        return idRange("SELECT MIN(task_id), MAX(task_id) FROM tasks");
+    }
+
+    // Up to limit projects with afterId < ID <= maxId, in ID order
+    public List<ProjectRow> findProjects(int afterId, int maxId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT project_id, project_name, description FROM projects"
+                        + " WHERE project_id > ? AND project_id <= ? AND deleting = FALSE"
+                        + " ORDER BY project_id LIMIT ?",
+                (resultSet, rowNum) -> new ProjectRow(
+                        resultSet.getInt("project_id"),
+                        resultSet.getString("project_name"),
+                        resultSet.getString("description")),
+                afterId, maxId, limit);
+    }
+
+    // Up to limit tasks with afterId < ID <= maxId, in ID order
+    public List<TaskRow> findTasks(int afterId, int maxId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT t.task_id, t.task_name, t.project_id, t.assigned_to FROM tasks t"
+                        + " JOIN projects p ON p.project_id = t.project_id AND p.deleting = FALSE"
+                        + " JOIN users u ON u.user_id = t.assigned_to AND u.deleting = FALSE"
+                        + " WHERE t.task_id > ? AND t.task_id <= ?"
+                        + " ORDER BY t.task_id LIMIT ?",
+                (resultSet, rowNum) -> new TaskRow(
+                        resultSet.getInt("task_id"),
+                        resultSet.getString("task_name"),
+                        resultSet.getInt("project_id"),
+                        resultSet.getInt("assigned_to")),
+                afterId, maxId, limit);
+    }
+
+    private IdRange idRange(String sql) {
+        return jdbcTemplate.queryForObject(sql, (resultSet, rowNum) -> {
+            int min = resultSet.getInt(1);
+            return resultSet.wasNull() ? null : new IdRange(min, resultSet.getInt(2));
+        });
+    }
+}
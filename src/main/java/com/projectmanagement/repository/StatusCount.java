@@ -0,0 +1,11 @@
+package com.projectmanagement.repository;
+
+/**
+ * Projection of a "group by status" count query.
+ */
+public interface StatusCount {
+
+    String getStatus();
+
+    long getCount();
+}
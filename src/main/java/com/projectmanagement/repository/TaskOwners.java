@@ -0,0 +1,11 @@
+package com.projectmanagement.repository;
+
+/**
+ * Projection of the project and assignee IDs of a task.
+ */
+public interface TaskOwners {
+
+    int getProjectId();
+
+    int getAssigneeId();
+}
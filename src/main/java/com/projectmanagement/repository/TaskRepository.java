@@ -1,11 +1,58 @@
 package com.projectmanagement.repository;
 
 import com.projectmanagement.model.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
-    // Custom query methods (if needed) can be added here
-}
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
+    // Load a single task together with its project and assignee
+    @EntityGraph(attributePaths = {"project", "assignedTo"})
+    Optional<Task> findWithProjectAndAssigneeById(int id);
+
+    // Load several tasks together with their projects and assignees
+    @EntityGraph(attributePaths = {"project", "assignedTo"})
+    List<Task> findWithProjectAndAssigneeByIdIn(Collection<Integer> ids);
+
+    // Task counts per status for one project, computed in the database without loading tasks
+    @Query("select t.status as status, count(t) as count from Task t where t.project.id = :projectId group by t.status")
+    List<StatusCount> countByStatusForProject(@Param("projectId") int projectId);
+
+    // Task counts per status for one assignee, computed in the database without loading tasks
+    @Query("select t.status as status, count(t) as count from Task t where t.assignedTo.id = :userId group by t.status")
+    List<StatusCount> countByStatusForAssignee(@Param("userId") int userId);
+
+    // Task counts per status and assignee for one project; the joins skip projects and users being deleted
+    @Query("select p.id as projectId, t.status as status, u.id as assigneeId, count(t) as count"
+            + " from Task t join t.project p join t.assignedTo u where p.id = :projectId group by p.id, t.status, u.id")
+    List<ProjectTaskCount> countByStatusAndAssigneeForProject(@Param("projectId") int projectId);
 
+    // The same counts for every project at once (used to reconcile the task statistics)
+    @Query("select p.id as projectId, t.status as status, u.id as assigneeId, count(t) as count"
+            + " from Task t join t.project p join t.assignedTo u group by p.id, t.status, u.id")
+    List<ProjectTaskCount> countByProjectStatusAndAssignee();
+
+    // Project of a task without loading it
+    @Query("select t.project.id from Task t where t.id = :id")
+    Optional<Integer> findProjectIdById(@Param("id") int id);
+
+    // Project and assignee of a task without loading it
+    @Query("select t.project.id as projectId, t.assignedTo.id as assigneeId from Task t where t.id = :id")
+    Optional<TaskOwners> findOwnersById(@Param("id") int id);
+
+    // Projects with tasks assigned to the user, read without loading the tasks
+    @Query("select distinct t.project.id from Task t where t.assignedTo.id = :userId")
+    List<Integer> findProjectIdsByAssigneeId(@Param("userId") int userId);
+
+    // Assignees of the project's tasks, read without loading the tasks
+    @Query("select distinct t.assignedTo.id from Task t where t.project.id = :projectId")
+    List<Integer> findAssigneeIdsByProjectId(@Param("projectId") int projectId);
+}
@@ -0,0 +1,53 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Task;
+import com.projectmanagement.payload.TaskFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria for the filtered task queries. Filters on project and assignee compare the
+ * foreign key columns directly, so they are served by the (project_id, status) and
+ * (assigned_to, status) indexes without joining.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Fetch project and assignee in the same query (skipped for count queries, where fetches are invalid)
+    public static Specification<Task> fetchProjectAndAssignee() {
+        return (root, query, criteriaBuilder) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("project");
+                root.fetch("assignedTo");
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getProjectId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("project").get("id"), filter.getProjectId()));
+            }
+            if (filter.getAssigneeId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("assignedTo").get("id"), filter.getAssigneeId()));
+            }
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
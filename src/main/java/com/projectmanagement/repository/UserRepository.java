@@ -1,8 +1,18 @@
 package com.projectmanagement.repository;
 
 import com.projectmanagement.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;  // Import Optional
 
 @Repository
@@ -12,4 +22,22 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     boolean existsByEmail(String email);
 
+    // Which of the given IDs exist, in a single IN query (used to validate bulk requests)
+    @Query("select u.id from User u where u.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // IDs of the users with the given emails, in a single IN query (used to resolve import references)
+    @Query("select u.id as id, u.email as name from User u where u.email in :emails")
+    List<NamedId> findIdsByEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset/offset scrolling over all users, used by the paged list endpoint
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Hide the user from reads (and authentication) until CascadeDeleteService removes them;
+    // returns 0 if the user is missing or already marked
+    @Transactional
+    @Modifying
+    @Query("update User u set u.deleting = true, u.version = u.version + 1 where u.id = :id")
+    int markDeleting(@Param("id") int id);
+
 }
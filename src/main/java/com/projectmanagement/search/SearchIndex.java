@@ -0,0 +1,310 @@
+package com.projectmanagement.search;
+
+import com.projectmanagement.dto.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over project names, project descriptions and task names.
+ * Postings map each term to the weight it has in every document containing it (occurrences in a name
+ * count double). They are kept in a sorted map, so a prefix term ("desi*") expands to a contiguous
+ * range of terms. A query matches documents containing every term and ranks them by
+ * idf * saturated weight, summed over the terms. Searches share a read lock; an update holds the
+ * write lock only while it swaps the postings of one document.
+ */
+public class SearchIndex {
+
+    public enum Type { PROJECT, TASK }
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_TERM_LENGTH = 64;
+    // A short prefix could match a large part of the vocabulary, only the first terms are used
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+    private static final float NAME_WEIGHT = 2f;
+    private static final double SATURATION = 1.2;
+
+    // Fields are kept so partial updates can re-tokenize the unchanged ones
+    private record Document(Type type, int id, String name, String description,
+                            int projectId, int assigneeId, Map<String, Float> weights) {
+    }
+
+    // A query term, expanded to the postings of every indexed term it matches
+    private record QueryTerm(List<Map<Long, Float>> postings, int documentCount) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    public void putProject(int id, String projectName, String description) {
+        put(new Document(Type.PROJECT, id, projectName, description, id, 0, weights(projectName, description)));
+    }
+
+    public void putTask(int id, String taskName, int projectId, int assigneeId) {
+        put(new Document(Type.TASK, id, taskName, null, projectId, assigneeId, weights(taskName, null)));
+    }
+
+    // Apply the supplied fields (null = unchanged); projects that are not indexed are ignored
+    public void patchProject(int id, String projectName, String description) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(key(Type.PROJECT, id));
+            if (current != null) {
+                String name = projectName != null ? projectName : current.name();
+                String text = description != null ? description : current.description();
+                replace(current, new Document(Type.PROJECT, id, name, text, id, 0, weights(name, text)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Apply the supplied fields (null = unchanged); tasks that are not indexed are ignored
+    public void patchTask(int id, String taskName, Integer projectId, Integer assigneeId) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(key(Type.TASK, id));
+            if (current != null) {
+                String name = taskName != null ? taskName : current.name();
+                replace(current, new Document(Type.TASK, id, name, null,
+                        projectId != null ? projectId : current.projectId(),
+                        assigneeId != null ? assigneeId : current.assigneeId(),
+                        name.equals(current.name()) ? current.weights() : weights(name, null)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTask(int id) {
+        lock.writeLock().lock();
+        try {
+            replace(documents.get(key(Type.TASK, id)), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove the project together with its tasks
+    public void removeProject(int id) {
+        lock.writeLock().lock();
+        try {
+            replace(documents.get(key(Type.PROJECT, id)), null);
+            removeTasksWhere(document -> document.projectId() == id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTasksAssignedTo(int userId) {
+        lock.writeLock().lock();
+        try {
+            removeTasksWhere(document -> document.assigneeId() == userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Move every document of the other index into this one (used to combine the parts of a rebuild)
+    public void addAll(SearchIndex other) {
+        lock.writeLock().lock();
+        other.lock.readLock().lock();
+        try {
+            for (Document document : other.documents.values()) {
+                replace(documents.get(key(document.type(), document.id())), document);
+            }
+        } finally {
+            other.lock.readLock().unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches containing every term of the query; a term ending in * matches as a prefix.
+    // Type may be null to search projects and tasks alike.
+    public List<SearchHit> search(String query, Type type, int limit) {
+        lock.readLock().lock();
+        try {
+            List<QueryTerm> terms = parse(query);
+            if (terms.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            // Start from the rarest term so the other terms only check its candidates
+            terms.sort(Comparator.comparingInt(QueryTerm::documentCount));
+            Map<Long, Double> scores = new HashMap<>();
+            QueryTerm first = terms.get(0);
+            for (Map<Long, Float> termPostings : first.postings()) {
+                double idf = idf(termPostings.size());
+                termPostings.forEach((key, weight) -> {
+                    if (type == null || typeOf(key) == type) {
+                        scores.merge(key, idf * saturate(weight), Math::max);
+                    }
+                });
+            }
+            for (QueryTerm term : terms.subList(1, terms.size())) {
+                scores.replaceAll((key, score) -> {
+                    double best = 0;
+                    for (Map<Long, Float> termPostings : term.postings()) {
+                        Float weight = termPostings.get(key);
+                        if (weight != null) {
+                            best = Math.max(best, idf(termPostings.size()) * saturate(weight));
+                        }
+                    }
+                    return best == 0 ? null : score + best;  // Null drops the document
+                });
+                scores.values().removeIf(score -> score == null);
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SearchHit> top(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.add(entry);
+            if (best.size() > limit) {
+                best.poll();  // Drop the weakest
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Map.Entry<Long, Double> entry = best.poll();
+            Document document = documents.get(entry.getKey());
+            hits.add(0, new SearchHit(document.type().name().toLowerCase(Locale.ROOT), document.id(),
+                    document.name(), document.projectId(), entry.getValue()));
+        }
+        return hits;
+    }
+
+    private List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            List<String> tokens = tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1 && word.endsWith("*");
+                terms.add(resolve(tokens.get(i), prefix));
+            }
+        }
+        return terms;
+    }
+
+    private QueryTerm resolve(String token, boolean prefix) {
+        List<Map<Long, Float>> matches = new ArrayList<>();
+        if (prefix) {
+            for (Map<Long, Float> termPostings : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                matches.add(termPostings);
+                if (matches.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+        } else if (postings.containsKey(token)) {
+            matches.add(postings.get(token));
+        }
+        return new QueryTerm(matches, matches.stream().mapToInt(Map::size).sum());
+    }
+
+    private void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            replace(documents.get(key(document.type(), document.id())), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Swap the postings of a document; either side may be null. Caller holds the write lock.
+    private void replace(Document previous, Document next) {
+        if (previous != null) {
+            long key = key(previous.type(), previous.id());
+            documents.remove(key);
+            for (String term : previous.weights().keySet()) {
+                Map<Long, Float> termPostings = postings.get(term);
+                termPostings.remove(key);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        if (next != null) {
+            long key = key(next.type(), next.id());
+            documents.put(key, next);
+            next.weights().forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, weight));
+        }
+    }
+
+    private void removeTasksWhere(Predicate<Document> condition) {
+        List<Document> matching = documents.values().stream()
+                .filter(document -> document.type() == Type.TASK && condition.test(document))
+                .toList();
+        matching.forEach(document -> replace(document, null));
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    // Repeated occurrences add less and less to the score
+    private static double saturate(float weight) {
+        return weight * (SATURATION + 1) / (weight + SATURATION);
+    }
+
+    private static Map<String, Float> weights(String name, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String term : tokenize(name)) {
+            weights.merge(term, NAME_WEIGHT, Float::sum);
+        }
+        for (String term : tokenize(description)) {
+            weights.merge(term, 1f, Float::sum);
+        }
+        return weights;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            String token = matcher.group().toLowerCase(Locale.ROOT);
+            tokens.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+        }
+        return tokens;
+    }
+
+    private static long key(Type type, int id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static Type typeOf(long key) {
+        return Type.values()[(int) (key >>> 32)];
+    }
+}
@@ -0,0 +1,25 @@
+package com.projectmanagement.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * UserDetails that also carries the user's current token version, so issued tokens can be
+ * stamped with it and later checked without reloading the user.
+ */
+public class AuthenticatedUser extends User {
+
+    private final int tokenVersion;
+
+    public AuthenticatedUser(String username, String password, Collection<? extends GrantedAuthority> authorities,
+                             int tokenVersion) {
+        super(username, password, authorities);
+        this.tokenVersion = tokenVersion;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
@@ -2,6 +2,8 @@ package com.projectmanagement.security;
 
 
 import com.projectmanagement.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +15,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,11 +26,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    // When enabled, the principal is built from the verified token claims instead of loading the user per request
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
 
     // Constructor injection for better testing and maintenance
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService,
+                                   TokenVersionRegistry tokenVersionRegistry) {
         this.jwtUtil = jwtUtil;
         this.customUserDetailsService = customUserDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
     // Override doFilterInternal from OncePerRequestFilter
@@ -39,15 +49,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Check if the request contains the "Authorization" header and starts with "Bearer "
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);  // Extract token
-            String username = jwtUtil.extractUsername(token);  // Extract username from token
 
-            // If the username is valid and no authentication is set yet, authenticate the user
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // If no authentication is set yet, authenticate the user
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
                 try {
-                    UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);  // Load user details
+                    // Signature and expiry are checked once here; repeat tokens come from the cache
+                    VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+                    String username = verifiedToken.subject();
+                    UserDetails userDetails = statelessEnabled
+                            ? toUserDetails(verifiedToken)  // Trust the signed claims, no database round trip
+                            : customUserDetailsService.loadUserByUsername(username);  // Load user details
 
-                    // Validate the token and set the authentication context
-                    if (jwtUtil.validateToken(token, userDetails)) {
+                    // Make sure the token belongs to the user and has not been revoked, then set the authentication context
+                    if (username.equals(userDetails.getUsername())
+                            && tokenVersionRegistry.isCurrent(username, verifiedToken.tokenVersion())) {
                         UsernamePasswordAuthenticationToken authenticationToken =
                                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         SecurityContextHolder.getContext().setAuthentication(authenticationToken);  // Set authentication
@@ -68,4 +83,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue with the filter chain
         chain.doFilter(request, response);
     }
+
+    // Build the principal from the subject and role claims of an already verified token
+    private UserDetails toUserDetails(VerifiedToken verifiedToken) {
+        return new AuthenticatedUser(
+                verifiedToken.subject(),
+                "",  // No credentials are needed once the token is verified
+                Collections.singletonList(new SimpleGrantedAuthority(verifiedToken.role())),
+                verifiedToken.tokenVersion()
+        );
+    }
 }
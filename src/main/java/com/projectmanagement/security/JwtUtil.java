@@ -1,37 +1,107 @@
 package com.projectmanagement.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    // Claim holding the user's token version at issue time
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret.key}")  // Fetch the secret key from application.properties
     private String SECRET_KEY;
 
+    // Upper bound on the number of distinct tokens kept in the verified-token cache
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // Signing key and parser are immutable and thread-safe, so build them once
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Verified tokens keyed by a SHA-256 digest of the raw token; entries expire with the token itself
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Verify the signature and expiry of a token once, reusing the result for repeat requests
+    public VerifiedToken verifyToken(String token) {
+        String cacheKey = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(cacheKey);
+        if (verified == null) {
+            verified = toVerifiedToken(extractAllClaims(token));
+            verifiedTokens.put(cacheKey, verified);
+        }
+        if (verified.isExpiredAt(System.currentTimeMillis())) {
+            verifiedTokens.invalidate(cacheKey);
+            throw new RuntimeException("Token has expired");
+        }
+        return verified;
+    }
+
     // Extract username (subject) from the token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
-    // Extract expiration date from the token
+    // Extract expiration date from the token; a fresh Date so callers cannot alter the cached token
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        Instant expiration = verifyToken(token).expiration();
+        return expiration != null ? Date.from(expiration) : null;
     }
 
     // Extract role from the token
     public String extractRole(String token) {
-        return extractClaim(token, claims -> (String) claims.get("role"));
+        return verifyToken(token).role();
     }
 
     // Extract a specific claim from the token
@@ -43,11 +113,7 @@ public class JwtUtil {
     // Parse all claims from the token
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY.getBytes())  // Ensure the key is a byte array
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("Token has expired", e);
         } catch (Exception e) {
@@ -56,15 +122,10 @@ public class JwtUtil {
         }
     }
 
-    // Check if the token has expired
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     // Validate the token
     public Boolean validateToken(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return username.equals(userDetails.getUsername());
     }
 
     // Generate a new token for a given user with role
@@ -75,6 +136,10 @@ public class JwtUtil {
                 .map(authority -> authority.getAuthority())
                 .findFirst()
                 .orElse("ROLE_USER"));  // Default to "ROLE_USER" if role is not found
+        // Stamp the token version so the token can be revoked without a per-request user lookup
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            claims.put(TOKEN_VERSION_CLAIM, authenticatedUser.getTokenVersion());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -85,10 +150,45 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours expiration (adjust as necessary)
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY.getBytes()) // Signing with HS256 algorithm
+                .signWith(signingKey, SignatureAlgorithm.HS256) // Signing with HS256 algorithm
                 .compact();
     }
 
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                tokenVersion != null ? tokenVersion : 0,  // Tokens issued before versioning count as version 0
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration())
+        );
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    // Time left until the token expires, used as the cache entry lifetime
+    private static long remainingNanos(VerifiedToken token) {
+        if (token.expiration() == null) {
+            return Long.MAX_VALUE;
+        }
+        long remainingMillis = token.expiration().toEpochMilli() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    // Key the cache by a digest so raw bearer tokens are not retained in memory
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     // Optionally, you could add a method to update the secret key securely.
     // For example, using SecureKeyGenerator to regenerate the secret key if needed.
 }
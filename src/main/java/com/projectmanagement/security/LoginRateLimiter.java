@@ -0,0 +1,145 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory token-bucket limiter for the login and registration endpoints, keyed by account email
+ * and by client address. Buckets live in lock-striped, access-ordered maps: each stripe holds at most
+ * a fixed number of buckets and drops buckets that have been idle for longer than the idle timeout,
+ * so memory stays bounded no matter how many distinct keys an attacker sends.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Limit accountLimit;
+    private final Limit clientLimit;
+    private final long idleTimeoutNanos;
+    private final int maxBucketsPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LoginRateLimiter(@Value("${security.login.throttle.account.capacity:5}") int accountCapacity,
+                            @Value("${security.login.throttle.account.refill-period:PT1M}") Duration accountRefillPeriod,
+                            @Value("${security.login.throttle.client.capacity:20}") int clientCapacity,
+                            @Value("${security.login.throttle.client.refill-period:PT3S}") Duration clientRefillPeriod,
+                            @Value("${security.login.throttle.idle-timeout:PT15M}") Duration idleTimeout,
+                            @Value("${security.login.throttle.max-buckets:100000}") int maxBuckets) {
+        this.accountLimit = new Limit(accountCapacity, accountRefillPeriod.toNanos());
+        this.clientLimit = new Limit(clientCapacity, clientRefillPeriod.toNanos());
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Take one token for the client and one for the account, or fail with the time to wait
+    public void acquire(String email, String clientAddress) {
+        long now = System.nanoTime();
+        String clientKey = "client:" + clientAddress;
+        long waitNanos = tryAcquire(clientKey, clientLimit, now);
+        if (waitNanos == 0 && email != null) {
+            waitNanos = tryAcquire("account:" + email.trim().toLowerCase(Locale.ROOT), accountLimit, now);
+            if (waitNanos > 0) {
+                // Attempts on a locked-out account must not use up the client's tokens for other accounts
+                giveBack(clientKey, clientLimit);
+            }
+        }
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);  // Round up
+            throw new TooManyRequestsException("Too many attempts, retry later", retryAfterSeconds);
+        }
+    }
+
+    // Returns 0 if a token was taken, otherwise the nanoseconds until the next token is available
+    private long tryAcquire(String key, Limit limit, long now) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(now);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit.capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryTake(limit, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Return a token taken by tryAcquire; a bucket evicted in between would be full again anyway
+    private void giveBack(String key, Limit limit) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(limit.capacity, bucket.tokens + 1);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private record Limit(int capacity, long refillNanos) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+        private long lastAccess;
+
+        private Bucket(int tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+            this.lastAccess = now;
+        }
+
+        private long tryTake(Limit limit, long now) {
+            double refilled = (double) (now - lastRefill) / limit.refillNanos;
+            tokens = Math.min(limit.capacity, tokens + refilled);
+            lastRefill = now;
+            lastAccess = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * limit.refillNanos);
+        }
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Access-ordered so the eldest entry is always the least recently used bucket
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxBucketsPerStripe;
+            }
+        };
+
+        // Drop buckets idle for longer than the timeout, they would be full again anyway
+        private void evictIdle(long now) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().lastAccess < idleTimeoutNanos) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.model.User;
+import com.projectmanagement.service.UserCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the token version stamped into a JWT against the user's current one.
+ * A token is accepted only while the versions match, so deleting a user or changing their role
+ * or password revokes every token issued before. Lookups go through {@link UserCache}, whose
+ * entries are invalidated by every user write.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserCache userCache;
+
+    public TokenVersionRegistry(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    // Check whether a token carrying the given version is still valid for the user
+    public boolean isCurrent(String email, int tokenVersion) {
+        return userCache.findByEmail(email)
+                .map(User::getTokenVersion)
+                .map(current -> current == tokenVersion)
+                .orElse(false);  // Unknown (e.g. deleted) users never match
+    }
+}
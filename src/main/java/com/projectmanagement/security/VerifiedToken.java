@@ -0,0 +1,15 @@
+package com.projectmanagement.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been checked.
+ * Built once per distinct token by {@link JwtUtil#verifyToken(String)}.
+ */
+public record VerifiedToken(String subject, String role, int tokenVersion, Instant issuedAt, Instant expiration) {
+
+    // Check if the token has expired at the given instant
+    public boolean isExpiredAt(long epochMillis) {
+        return expiration != null && expiration.toEpochMilli() <= epochMillis;
+    }
+}
@@ -0,0 +1,50 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.BulkResult;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes pre-validated rows of a bulk request as one batch per transaction. If a batch fails,
+ * its rows are retried one by one so only the offending items are reported as failures.
+ */
+@Component
+public class BatchWriter {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchWriter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // A request item together with its position in the request
+    public record Indexed<T>(int index, T item) {
+    }
+
+    public <T> void write(List<Indexed<T>> rows, Consumer<List<T>> insert, BulkResult result) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<T> items = rows.stream().map(Indexed::item).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.accept(items));
+            result.addCreated(items.size());
+        } catch (DataAccessException batchFailure) {
+            // Isolate the failing rows instead of aborting the whole request
+            for (Indexed<T> row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert.accept(List.of(row.item())));
+                    result.addCreated(1);
+                } catch (DataAccessException rowFailure) {
+                    result.fail(row.index(), rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.DeletionProgress;
+import com.projectmanagement.repository.CascadeDeleteRepository;
+import com.projectmanagement.repository.ChangeLogEntry;
+import com.projectmanagement.repository.CascadeDeleteRepository.Target;
+import com.projectmanagement.repository.ProjectQueryCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Removes projects and users that were marked as deleting, together with their assignments and tasks.
+ * Dependent rows go in batches of bounded size, each in its own transaction, so no lock on the tasks
+ * table is held for longer than one batch. Jobs run on a small dedicated executor; the mark in the
+ * database is the source of truth, so deletes interrupted by a restart or a failure are picked up
+ * again by the periodic sweep.
+ */
+@Service
+public class CascadeDeleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CascadeDeleteService.class);
+
+    private final CascadeDeleteRepository cascadeDeleteRepository;
+    private final ChangeLogService changeLogService;
+    private final ProjectQueryCache projectQueryCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final Duration progressRetention;
+    // Latest job per project or user, kept for the retention period after it finished
+    private final Map<String, DeletionProgress> jobs = new ConcurrentHashMap<>();
+
+    public CascadeDeleteService(CascadeDeleteRepository cascadeDeleteRepository,
+                                ChangeLogService changeLogService,
+                                ProjectQueryCache projectQueryCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${deletion.batch-size:1000}") int batchSize,
+                                @Value("${deletion.threads:1}") int threads,
+                                @Value("${deletion.progress-retention:PT1H}") Duration progressRetention) {
+        this.cascadeDeleteRepository = cascadeDeleteRepository;
+        this.changeLogService = changeLogService;
+        this.projectQueryCache = projectQueryCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("cascade-delete-"));
+        this.batchSize = batchSize;
+        this.progressRetention = progressRetention;
+    }
+
+    // Queue the delete of a marked project or user; a job already queued or running is returned instead
+    public DeletionProgress submit(Target target, int id) {
+        DeletionProgress queued = new DeletionProgress(target.name().toLowerCase(Locale.ROOT), id);
+        DeletionProgress current = jobs.compute(key(target, id), (key, existing) ->
+                existing != null && !existing.isFinished() ? existing : queued);
+        if (current == queued) {
+            try {
+                executor.execute(() -> run(target, id, queued));
+            } catch (RejectedExecutionException e) {
+                queued.fail("Shutting down, the delete is resumed after the restart");
+            }
+        }
+        return current;
+    }
+
+    // Progress of the delete; a marked row without a known job (e.g. after a restart) is queued again
+    public Optional<DeletionProgress> getProgress(Target target, int id) {
+        DeletionProgress progress = jobs.get(key(target, id));
+        if (progress != null) {
+            return Optional.of(progress);
+        }
+        return isMarked(target, id) ? Optional.of(submit(target, id)) : Optional.empty();
+    }
+
+    // Whether the row exists and is marked as deleting (read on the primary)
+    public boolean isMarked(Target target, int id) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> cascadeDeleteRepository.isMarked(target, id)));
+    }
+
+    // Resume deletes left unfinished by a restart or a failed job, and forget old finished jobs
+    @Scheduled(fixedDelayString = "${deletion.sweep-interval:PT1M}")
+    public void resumeUnfinished() {
+        Date cutoff = new Date(System.currentTimeMillis() - progressRetention.toMillis());
+        jobs.values().removeIf(progress -> progress.isFinished() && progress.getFinishedAt().before(cutoff));
+        for (Target target : Target.values()) {
+            List<Integer> marked = transactionTemplate.execute(status -> cascadeDeleteRepository.findMarked(target));
+            for (int id : marked) {
+                submit(target, id);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();  // Interrupted jobs stay marked and are resumed by the next sweep
+    }
+
+    private void run(Target target, int id, DeletionProgress progress) {
+        progress.start();
+        try {
+            deleteInBatches(() -> cascadeDeleteRepository.deleteAssignments(target, id, batchSize),
+                    ChangeLogEntry.Type.ASSIGNMENT, progress::addAssignmentsDeleted);
+            deleteInBatches(() -> cascadeDeleteRepository.deleteTasks(target, id, batchSize),
+                    ChangeLogEntry.Type.TASK, progress::addTasksDeleted);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (cascadeDeleteRepository.deleteMarked(target, id) > 0 && target == Target.PROJECT) {
+                    // Already logged when it was marked; repeated in case that entry was lost
+                    changeLogService.record(ChangeLogEntry.Type.PROJECT, id, true);
+                    projectQueryCache.evictAfterCommit();  // The native DELETE bypasses Hibernate's query cache invalidation
+                }
+            });
+            progress.complete();
+        } catch (RuntimeException e) {
+            // Typically a task added concurrently; the row stays marked and the sweep retries
+            logger.warn("Cascade delete of {} {} failed: {}", progress.getType(), id, e.getMessage());
+            progress.fail(e.getMessage());
+        }
+    }
+
+    // Run the batch in its own transaction, together with the tombstones of its rows, until it removes nothing
+    private void deleteInBatches(Supplier<List<Integer>> batch, ChangeLogEntry.Type type, IntConsumer deleted) {
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> {
+                List<Integer> ids = batch.get();
+                changeLogService.record(type, ids, true);
+                return ids.size();
+            });
+            if (count > 0) {
+                deleted.accept(count);
+            }
+        } while (count > 0);
+    }
+
+    private static String key(Target target, int id) {
+        return target.name() + ":" + id;
+    }
+}
@@ -0,0 +1,370 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.event.ChangeType;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.event.TaskState;
+import com.projectmanagement.event.UserDeletedEvent;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.repository.TaskOwners;
+import com.projectmanagement.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed task and project changes to server-sent event subscribers, scoped to one project
+ * or to the tasks assigned to one user. Events are notifications, not a replicated log: a client
+ * reloads what it shows when it (re)connects and then applies or refetches per event.
+ *
+ * The event listeners only append to per-subscriber buffers; a small pool of delivery threads writes
+ * them out. A subscriber whose buffer overflows is evicted: what it has not received is dropped, it
+ * gets an "evicted" event telling it to reload, and the stream is closed. Heartbeat comments keep
+ * idle connections open through proxies and detect clients that went away.
+ *
+ * Tasks removed with a deleted project or user are not pushed one by one: the feeds that showed them
+ * get a "reload" event instead, and the deleted user's own streams end with a "deleted" event.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    enum Scope { PROJECT, USER }
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate primaryReads;
+    private final Map<Integer, Set<Subscriber>> projectSubscribers = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> userSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final ExecutorService delivery;
+    // Patches whose project or assignee is not in the event are resolved here, one at a time and in order
+    private final ExecutorService lookups = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("change-feed-lookup-"));
+    // Events queued on the lookup thread; while there are any, later events queue behind them
+    private final AtomicInteger pendingLookups = new AtomicInteger();
+
+    public ChangeFeedService(TaskRepository taskRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${feed.buffer-size:64}") int bufferSize,
+                             @Value("${feed.max-subscribers:10000}") int maxSubscribers,
+                             @Value("${feed.timeout:PT30M}") Duration timeout,
+                             @Value("${feed.delivery-threads:2}") int deliveryThreads) {
+        this.taskRepository = taskRepository;
+        // The event was committed on the primary, a lagging replica might not have the task yet
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, new CustomizableThreadFactory("change-feed-"));
+    }
+
+    // Changes of a project and its tasks
+    public SseEmitter subscribeToProject(int projectId) {
+        return subscribe(Scope.PROJECT, projectId, new SseEmitter(timeoutMillis));
+    }
+
+    // Changes of the tasks assigned to a user, including tasks assigned away from them
+    public SseEmitter subscribeToUser(int userId) {
+        return subscribe(Scope.USER, userId, new SseEmitter(timeoutMillis));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    SseEmitter subscribe(Scope scope, int key, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many change feed subscribers", 30);
+        }
+        Subscriber subscriber = new Subscriber(scope, key, emitter);
+        subscribers(scope).computeIfAbsent(key, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        // Sent right away so the client and any proxy see the stream open
+        subscriber.offer(Message.comment("subscribed"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskState before = event.before();
+        TaskState after = event.after();
+        Set<Integer> projectIds = new LinkedHashSet<>();
+        Set<Integer> assigneeIds = new LinkedHashSet<>();
+        collect(before, projectIds, assigneeIds);
+        collect(after, projectIds, assigneeIds);
+
+        boolean projectUnknown = event.change() == ChangeType.PATCHED && after.projectId() == null && !projectSubscribers.isEmpty();
+        boolean assigneeUnknown = event.change() == ChangeType.PATCHED && after.assigneeId() == null && !userSubscribers.isEmpty();
+        dispatch(projectUnknown || assigneeUnknown, () -> {
+            try {
+                if (projectUnknown || assigneeUnknown) {
+                    // A patch only carries the fields it changed; the task's current project or assignee is read
+                    Optional<TaskOwners> owners = primaryReads.execute(status -> taskRepository.findOwnersById(event.taskId()));
+                    owners.ifPresent(found -> {
+                        projectIds.add(found.getProjectId());
+                        assigneeIds.add(found.getAssigneeId());
+                    });
+                }
+                publishTask(event, projectIds, assigneeIds);
+            } catch (RuntimeException e) {
+                logger.warn("Change of task {} not pushed: {}", event.taskId(), e.getMessage());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        boolean deleted = event.change() == ChangeType.DELETED;
+        // The project's tasks are gone from the feeds of their assignees too
+        List<Integer> assigneeIds = deleted && !userSubscribers.isEmpty()
+                ? affected(() -> taskRepository.findAssigneeIdsByProjectId(event.projectId()), event) : List.of();
+        dispatch(false, () -> {
+            Set<Subscriber> subscribers = projectSubscribers.get(event.projectId());
+            if (subscribers != null) {
+                Message message = new Message("project", event);
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(message);
+                    if (deleted) {
+                        subscriber.close();  // Nothing more will happen in this project
+                    }
+                }
+            }
+            offer(userSubscribers, assigneeIds, new Message("reload", event));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        // The user's tasks are gone from the feeds of their projects
+        List<Integer> projectIds = !projectSubscribers.isEmpty()
+                ? affected(() -> taskRepository.findProjectIdsByAssigneeId(event.userId()), event) : List.of();
+        dispatch(false, () -> {
+            Set<Subscriber> subscribers = userSubscribers.get(event.userId());
+            if (subscribers != null) {
+                Message farewell = new Message("deleted", event);
+                subscribers.forEach(subscriber -> subscriber.closeWith(farewell));
+            }
+            offer(projectSubscribers, projectIds, new Message("reload", event));
+        });
+    }
+
+    // Comment lines are ignored by EventSource clients; a failed write tells a client went away
+    @Scheduled(fixedDelayString = "${feed.heartbeat-interval:PT15S}", initialDelayString = "${feed.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        Message heartbeat = Message.comment("heartbeat");
+        for (Map<Integer, Set<Subscriber>> subscribers : List.of(projectSubscribers, userSubscribers)) {
+            subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.heartbeat(heartbeat)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookups.shutdownNow();
+        delivery.shutdownNow();
+        for (Map<Integer, Set<Subscriber>> subscribers : List.of(projectSubscribers, userSubscribers)) {
+            subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+        }
+    }
+
+    // Publish right away, or on the lookup thread if it needs a read or earlier events still wait there
+    private void dispatch(boolean lookup, Runnable publish) {
+        if (!lookup && pendingLookups.get() == 0) {
+            publish.run();
+            return;
+        }
+        pendingLookups.incrementAndGet();
+        try {
+            lookups.execute(() -> {
+                try {
+                    publish.run();
+                } finally {
+                    pendingLookups.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingLookups.decrementAndGet();  // Shutting down, the streams are being completed
+        }
+    }
+
+    // Feeds that showed tasks of a deleted project or user. Read in the listener: deletes publish their
+    // event before the cascade delete is submitted, so the tasks still exist
+    private List<Integer> affected(Supplier<List<Integer>> keys, Object cause) {
+        try {
+            return primaryReads.execute(status -> keys.get());
+        } catch (RuntimeException e) {
+            logger.warn("Reload after {} not pushed: {}", cause, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void publishTask(TaskChangedEvent event, Set<Integer> projectIds, Set<Integer> assigneeIds) {
+        Message message = new Message("task", event);
+        offer(projectSubscribers, projectIds, message);
+        offer(userSubscribers, assigneeIds, message);
+    }
+
+    private static void offer(Map<Integer, Set<Subscriber>> subscribers, Collection<Integer> keys, Message message) {
+        for (int key : keys) {
+            Set<Subscriber> group = subscribers.get(key);
+            if (group != null) {
+                group.forEach(subscriber -> subscriber.offer(message));
+            }
+        }
+    }
+
+    private static void collect(TaskState state, Set<Integer> projectIds, Set<Integer> assigneeIds) {
+        if (state == null) {
+            return;
+        }
+        if (state.projectId() != null) {
+            projectIds.add(state.projectId());
+        }
+        if (state.assigneeId() != null) {
+            assigneeIds.add(state.assigneeId());
+        }
+    }
+
+    private Map<Integer, Set<Subscriber>> subscribers(Scope scope) {
+        return scope == Scope.PROJECT ? projectSubscribers : userSubscribers;
+    }
+
+    // An event waiting in a buffer; the SSE builder is created per send because building it is not repeatable
+    private record Message(String name, Object data) {
+
+        static Message comment(String text) {
+            return new Message(null, text);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null ? SseEmitter.event().comment((String) data) : SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    // One open stream: a bounded buffer of events drained by at most one delivery thread at a time
+    private final class Subscriber {
+        private final Scope scope;
+        private final int key;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        // Set once no more events are accepted; the stream is completed after the last one is written
+        private volatile boolean closing;
+        private volatile Message farewell;
+        private volatile boolean finished;
+
+        private Subscriber(Scope scope, int key, SseEmitter emitter) {
+            this.scope = scope;
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void offer(Message event) {
+            if (closing) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                // Too slow to keep up: drop what it has not received, it reloads instead
+                buffer.clear();
+                farewell = new Message("evicted", "Too slow to keep up, reload and subscribe again");
+                logger.info("Evicted a slow change feed subscriber ({} {})", scope, key);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void heartbeat(Message heartbeat) {
+            if (buffer.isEmpty()) {
+                offer(heartbeat);
+            }
+        }
+
+        // End the stream after what is buffered, with a last event
+        void closeWith(Message last) {
+            if (!closing) {
+                farewell = last;
+                close();
+            }
+        }
+
+        void close() {
+            closing = true;
+            remove();
+            schedule();
+        }
+
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                subscribers(scope).computeIfPresent(key, (id, group) -> {
+                    group.remove(this);
+                    return group.isEmpty() ? null : group;
+                });
+                subscriberCount.decrementAndGet();
+            }
+        }
+
+        private void schedule() {
+            if (!finished && scheduled.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while (!finished && (message = buffer.poll()) != null) {
+                    emitter.send(message.toEvent());
+                }
+                if (closing && !finished) {
+                    finished = true;
+                    if (farewell != null) {
+                        emitter.send(farewell.toEvent());
+                    }
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream already ended
+                finished = true;
+                buffer.clear();
+                remove();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!buffer.isEmpty() || (closing && !finished)) {
+                schedule();  // Raced with an offer or a close
+            }
+        }
+    }
+}
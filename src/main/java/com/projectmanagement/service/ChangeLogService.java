@@ -0,0 +1,154 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.event.ChangeType;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.repository.ChangeLogEntry;
+import com.projectmanagement.repository.ChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Appends task, project and assignment writes to the change log read by delta sync. Task and project
+ * writes are taken from their change events, which are published inside the write's transaction;
+ * they are collected per transaction and inserted in one batch just before it commits, so an entry
+ * exists exactly when its write was committed. Writes outside a transaction are logged in their own.
+ * Entries older than the retention period are pruned; cursors from before the pruned range can no
+ * longer be served and the client has to reload.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    // Entries examined and deleted per pruning step
+    private static final int PRUNE_BATCH_SIZE = 10_000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    // Highest sequence number that was pruned; cursors below it may have missed changes
+    private volatile long prunedThrough = -1;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${sync.retention:P30D}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    public void record(ChangeLogEntry.Type type, int entityId, boolean deleted) {
+        record(type, List.of(entityId), deleted);
+    }
+
+    public void record(ChangeLogEntry.Type type, Collection<Integer> entityIds, boolean deleted) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> changeLogRepository.insert(type, entityIds, deleted, new Date()));
+            return;
+        }
+        pendingChanges().computeIfAbsent(new PendingKey(type, deleted), key -> new LinkedHashSet<>()).addAll(entityIds);
+    }
+
+    // Assignments written by set-based statements, identified by project and user; must run in the write's transaction
+    public void recordAssignments(int projectId, Collection<Integer> userIds, boolean deleted) {
+        changeLogRepository.insertForAssignments(projectId, userIds, deleted, new Date());
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        record(ChangeLogEntry.Type.TASK, event.taskId(), event.change() == ChangeType.DELETED);
+    }
+
+    @EventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        record(ChangeLogEntry.Type.PROJECT, event.projectId(), event.change() == ChangeType.DELETED);
+    }
+
+    // Sequence numbers up to this one are no longer in the log
+    public long getPrunedThrough() {
+        long pruned = prunedThrough;
+        if (pruned < 0) {
+            // Not pruned since the start: everything below the oldest entry is assumed gone
+            pruned = Math.max(transactionTemplate.execute(status -> changeLogRepository.findMinSeq()) - 1, 0);
+            prunedThrough = pruned;
+        }
+        return pruned;
+    }
+
+    // Delete entries older than the retention period, oldest first and a bounded batch per transaction
+    @Scheduled(fixedDelayString = "${sync.prune-interval:PT1H}", initialDelayString = "${sync.prune-interval:PT1H}")
+    public void prune() {
+        Date cutoff = new Date(System.currentTimeMillis() - retention.toMillis());
+        getPrunedThrough();
+        while (true) {
+            List<ChangeLogEntry> oldest = transactionTemplate.execute(status -> changeLogRepository.findAfter(0, PRUNE_BATCH_SIZE));
+            long through = -1;
+            for (ChangeLogEntry entry : oldest) {
+                if (!entry.changedAt().before(cutoff)) {
+                    break;
+                }
+                through = entry.seq();
+            }
+            if (through < 0) {
+                return;
+            }
+            long last = through;
+            prunedThrough = last;  // Before deleting, so no cursor into the deleted range is served as complete
+            int deleted = transactionTemplate.execute(status -> changeLogRepository.deleteThrough(last));
+            logger.debug("Pruned {} change log entries through {}", deleted, last);
+            if (last != oldest.get(oldest.size() - 1).seq()) {
+                return;  // Reached entries within the retention period
+            }
+        }
+    }
+
+    // Changes recorded in the current transaction, written by a synchronization just before it commits
+    @SuppressWarnings("unchecked")
+    private Map<PendingKey, Set<Integer>> pendingChanges() {
+        Map<PendingKey, Set<Integer>> pending = (Map<PendingKey, Set<Integer>>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<PendingKey, Set<Integer>> created = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                Date changedAt = new Date();
+                created.forEach((key, entityIds) ->
+                        changeLogRepository.insert(key.type(), new ArrayList<>(entityIds), key.deleted(), changedAt));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogService.this);
+            }
+        });
+        return created;
+    }
+
+    private record PendingKey(ChangeLogEntry.Type type, boolean deleted) {
+    }
+}
@@ -2,7 +2,9 @@ package com.projectmanagement.service;
 
 import com.projectmanagement.model.User;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,29 +13,49 @@ import org.springframework.stereotype.Service;
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserCache userCache;
     private final UserRepository userRepository;
 
     // Constructor injection for better testability
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserCache userCache, UserRepository userRepository) {
+        this.userCache = userCache;
         this.userRepository = userRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         // Retrieve the user by email using Optional to handle missing user
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         // Ensure the role is prefixed with "ROLE_" (e.g., ROLE_USER, ROLE_ADMIN)
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole());
 
-        // Convert the User entity to a UserDetails object with authorities
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(authority))  // List of authorities (roles)
-                .build();
+        // Convert the User entity to a UserDetails object with authorities and the current token version
+        return new AuthenticatedUser(
+                user.getEmail(),
+                user.getPassword(),
+                Collections.singletonList(authority),  // List of authorities (roles)
+                user.getTokenVersion()
+        );
+    }
+
+    // Called after a successful login when the stored hash was made with an older BCrypt strength
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newEncodedPassword);
+        userRepository.save(user);
+        userCache.invalidate(user);
+
+        return new AuthenticatedUser(
+                user.getEmail(),
+                newEncodedPassword,
+                userDetails.getAuthorities(),
+                user.getTokenVersion()
+        );
     }
 }
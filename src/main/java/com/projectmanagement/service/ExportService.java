@@ -0,0 +1,106 @@
+package com.projectmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.export.ExportColumn;
+import com.projectmanagement.export.ExportFormat;
+import com.projectmanagement.export.RowWriter;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.repository.ExportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as NDJSON or CSV. Each row is written to the output as soon as it is read
+ * from the cursor, so memory use does not depend on the number of rows. Every export runs in one
+ * read-only transaction and therefore reads a consistent snapshot (from the replica when configured).
+ */
+@Service
+public class ExportService {
+
+    static final List<ExportColumn<TaskView>> TASK_COLUMNS = List.of(
+            new ExportColumn<>("id", TaskView::getId),
+            new ExportColumn<>("taskName", TaskView::getTaskName),
+            new ExportColumn<>("status", TaskView::getStatus),
+            new ExportColumn<>("createdAt", TaskView::getCreatedAt),
+            new ExportColumn<>("projectId", TaskView::getProjectId),
+            new ExportColumn<>("projectName", TaskView::getProjectName),
+            new ExportColumn<>("assigneeId", TaskView::getAssigneeId),
+            new ExportColumn<>("assigneeName", TaskView::getAssigneeName),
+            new ExportColumn<>("version", TaskView::getVersion));
+
+    static final List<ExportColumn<Project>> PROJECT_COLUMNS = List.of(
+            new ExportColumn<>("id", Project::getId),
+            new ExportColumn<>("projectName", Project::getProjectName),
+            new ExportColumn<>("description", Project::getDescription),
+            new ExportColumn<>("status", Project::getStatus),
+            new ExportColumn<>("createdBy", Project::getCreatedBy),
+            new ExportColumn<>("createdAt", Project::getCreatedAt),
+            new ExportColumn<>("version", Project::getVersion));
+
+    static final List<ExportColumn<ProjectAssignment>> ASSIGNMENT_COLUMNS = List.of(
+            new ExportColumn<>("assignmentId", ProjectAssignment::getAssignmentId),
+            new ExportColumn<>("projectId", ProjectAssignment::getProjectId),
+            new ExportColumn<>("userId", ProjectAssignment::getUserId),
+            new ExportColumn<>("assignedAt", ProjectAssignment::getAssignedAt));
+
+    // Characters buffered before they are handed to the response
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Each method returns the number of rows written
+    @Transactional(readOnly = true)
+    public long exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TaskView> rows = exportRepository.streamTasks()) {
+            return write(rows, format, TASK_COLUMNS, out, false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportProjects(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Project> rows = exportRepository.streamProjects()) {
+            return write(rows, format, PROJECT_COLUMNS, out, true);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAssignments(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ProjectAssignment> rows = exportRepository.streamAssignments()) {
+            return write(rows, format, ASSIGNMENT_COLUMNS, out, true);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, ExportFormat format, List<ExportColumn<T>> columns,
+                           OutputStream out, boolean entities) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter<T> rowWriter = RowWriter.create(format, columns, writer, objectMapper.getFactory());
+        long count = 0;
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); count++) {
+            T row = iterator.next();
+            rowWriter.write(row);
+            if (entities) {
+                exportRepository.detach(row);
+            }
+        }
+        rowWriter.finish();
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,145 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.importer.ImportRow;
+import com.projectmanagement.repository.NamedId;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves the project and user references of one import, given either as an ID or as a project
+ * name / user email. Before a chunk is validated, the references it has not seen yet are looked up
+ * with one IN query per kind; hits and misses are then kept for later chunks, up to a bounded
+ * number of entries. Names and emails are matched case-insensitively, like MySQL's collation.
+ */
+class ImportReferenceCache {
+
+    // The reference resolved to an ID, or the reason it did not
+    record Resolved(Integer id, String error) {
+    }
+
+    private static final int MISSING = 0;
+    private static final int AMBIGUOUS = -1;
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Integer> entries;
+
+    ImportReferenceCache(ProjectRepository projectRepository, UserRepository userRepository,
+                         TransactionTemplate transactionTemplate, int maxEntries) {
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Look up the projects referenced by the rows that are not cached yet
+    void loadProjects(List<ImportRow> rows, String idField, String nameField) {
+        load(rows, idField, nameField, "project", projectRepository::findExistingIds, projectRepository::findIdsByProjectNames);
+    }
+
+    // Look up the users referenced by the rows that are not cached yet
+    void loadUsers(List<ImportRow> rows, String idField, String emailField) {
+        load(rows, idField, emailField, "user", userRepository::findExistingIds, userRepository::findIdsByEmails);
+    }
+
+    Resolved project(ImportRow row, String idField, String nameField) {
+        return resolve(row, idField, nameField, "project");
+    }
+
+    Resolved user(ImportRow row, String idField, String emailField) {
+        return resolve(row, idField, emailField, "user");
+    }
+
+    private void load(List<ImportRow> rows, String idField, String nameField, String kind,
+                      Function<Collection<Integer>, List<Integer>> findIds,
+                      Function<Collection<String>, List<NamedId>> findByNames) {
+        Set<Integer> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (ImportRow row : rows) {
+            Integer id = parseId(row.get(idField));
+            if (id != null && !entries.containsKey(idKey(kind, id))) {
+                ids.add(id);
+            }
+            String name = row.get(nameField);
+            if (id == null && name != null && !entries.containsKey(nameKey(kind, name))) {
+                names.add(name);
+            }
+        }
+        if (!ids.isEmpty()) {
+            List<Integer> existing = transactionTemplate.execute(status -> findIds.apply(ids));
+            ids.forEach(id -> entries.put(idKey(kind, id), MISSING));
+            existing.forEach(id -> entries.put(idKey(kind, id), id));
+        }
+        if (!names.isEmpty()) {
+            List<NamedId> found = transactionTemplate.execute(status -> findByNames.apply(names));
+            names.forEach(name -> entries.put(nameKey(kind, name), MISSING));
+            for (NamedId namedId : found) {
+                String key = nameKey(kind, namedId.getName());
+                Integer previous = entries.get(key);
+                entries.put(key, previous == null || previous == MISSING ? namedId.getId() : AMBIGUOUS);
+            }
+        }
+    }
+
+    private Resolved resolve(ImportRow row, String idField, String nameField, String kind) {
+        String idValue = row.get(idField);
+        if (idValue != null) {
+            Integer id = parseId(idValue);
+            if (id == null) {
+                return new Resolved(null, "Invalid " + idField + ": " + idValue);
+            }
+            Integer cached = entries.get(idKey(kind, id));
+            return cached == null || cached == MISSING
+                    ? new Resolved(null, "Unknown " + kind + " ID: " + id)
+                    : new Resolved(cached, null);
+        }
+        String name = row.get(nameField);
+        if (name == null) {
+            return new Resolved(null, null);
+        }
+        Integer cached = entries.get(nameKey(kind, name));
+        if (cached == null || cached == MISSING) {
+            return new Resolved(null, "Unknown " + kind + ": " + name);
+        }
+        if (cached == AMBIGUOUS) {
+            return new Resolved(null, "More than one " + kind + " matches: " + name);
+        }
+        return new Resolved(cached, null);
+    }
+
+    private static String idKey(String kind, int id) {
+        return kind + "#" + id;
+    }
+
+    private static String nameKey(String kind, String name) {
+        return kind + ":" + name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Integer parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            int id = Integer.parseInt(value);
+            return id > 0 ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.projectmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.dto.BulkResult;
+import com.projectmanagement.dto.ImportProgress;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.export.ExportColumn;
+import com.projectmanagement.export.ExportFormat;
+import com.projectmanagement.export.RowWriter;
+import com.projectmanagement.importer.ImportRow;
+import com.projectmanagement.importer.RowReader;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.payload.TaskRequest;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.ProjectQueryCache;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Imports projects or tasks from an uploaded CSV or NDJSON file. The upload is spooled to a
+ * temporary file and parsed one record at a time on a dedicated executor; records are validated
+ * and written in chunks, each chunk in its own transaction through the BatchWriter. Rows that
+ * fail are listed with their line number in a per-import error file.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    public enum Target { PROJECTS, TASKS }
+
+    // A row that was not imported, as written to the error file
+    record RowError(long line, String message) {
+    }
+
+    private static final List<ExportColumn<RowError>> ERROR_COLUMNS = List.of(
+            new ExportColumn<>("line", RowError::line),
+            new ExportColumn<>("message", RowError::message));
+
+    private record Job(ImportProgress progress, Path errorFile) {
+    }
+
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final ProjectQueryCache projectQueryCache;
+    private final BatchWriter batchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int lookupCacheSize;
+    private final Duration progressRetention;
+    // Imports by ID, kept for the retention period after they finished
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ImportService(ProjectRepository projectRepository,
+                         UserRepository userRepository,
+                         BulkInsertRepository bulkInsertRepository,
+                         ProjectQueryCache projectQueryCache,
+                         BatchWriter batchWriter,
+                         ApplicationEventPublisher eventPublisher,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${import.batch-size:1000}") int batchSize,
+                         @Value("${import.threads:1}") int threads,
+                         @Value("${import.lookup-cache-size:100000}") int lookupCacheSize,
+                         @Value("${import.progress-retention:PT1H}") Duration progressRetention) {
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.projectQueryCache = projectQueryCache;
+        this.batchWriter = batchWriter;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        // Not read-only: references to rows written moments ago must be looked up on the primary
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("import-"));
+        this.batchSize = batchSize;
+        // A chunk refers to at most two projects and two users per row, which must all stay cached while it is validated
+        this.lookupCacheSize = Math.max(lookupCacheSize, 4 * batchSize);
+        this.progressRetention = progressRetention;
+    }
+
+    // Spool the upload to disk and queue its import; rows without a creator are attributed to importedBy
+    public ImportProgress submit(Target target, ExportFormat format, MultipartFile file, int importedBy) throws IOException {
+        if (file.isEmpty()) {
+            throw new CustomException("The uploaded file is empty");
+        }
+        Path upload = Files.createTempFile("import-", "." + format.getExtension());
+        file.transferTo(upload);
+        Path errorFile = Files.createTempFile("import-errors-", ".csv");
+
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(),
+                target.name().toLowerCase(Locale.ROOT), file.getOriginalFilename());
+        Job job = new Job(progress, errorFile);
+        jobs.put(progress.getId(), job);
+        try {
+            executor.execute(() -> run(target, format, upload, importedBy, job));
+        } catch (RejectedExecutionException e) {
+            progress.fail("Shutting down, the file must be uploaded again");
+            deleteQuietly(upload);
+        }
+        return progress;
+    }
+
+    public Optional<ImportProgress> getProgress(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::progress);
+    }
+
+    // CSV of the rows that were not imported so far (line, message)
+    public Optional<Path> getErrorFile(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::errorFile);
+    }
+
+    // Forget finished imports after the retention period, together with their error files
+    @Scheduled(fixedDelayString = "${import.sweep-interval:PT5M}")
+    public void pruneFinished() {
+        Date cutoff = new Date(System.currentTimeMillis() - progressRetention.toMillis());
+        jobs.values().removeIf(job -> {
+            ImportProgress progress = job.progress();
+            if (progress.isFinished() && progress.getFinishedAt().before(cutoff)) {
+                deleteQuietly(job.errorFile());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();  // Chunks already committed stay; the job stops before the next one
+    }
+
+    private void run(Target target, ExportFormat format, Path upload, int importedBy, Job job) {
+        ImportProgress progress = job.progress();
+        progress.start();
+        ImportReferenceCache references = new ImportReferenceCache(projectRepository, userRepository,
+                transactionTemplate, lookupCacheSize);
+        try (RowReader reader = RowReader.open(format, Files.newBufferedReader(upload, StandardCharsets.UTF_8), objectMapper);
+             Writer errorOut = Files.newBufferedWriter(job.errorFile(), StandardCharsets.UTF_8)) {
+            RowWriter<RowError> errors = RowWriter.create(ExportFormat.CSV, ERROR_COLUMNS, errorOut, objectMapper.getFactory());
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    importChunk(target, chunk, references, importedBy, progress, errors);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(target, chunk, references, importedBy, progress, errors);
+            }
+            progress.complete();
+            logger.info("Imported {} of {} {} rows from {}", progress.getCreated(), progress.getRowsRead(),
+                    progress.getType(), progress.getFileName());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import {} of {} failed after {} rows: {}", progress.getId(), progress.getFileName(),
+                    progress.getRowsRead(), e.getMessage());
+            progress.fail(e.getMessage());
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    private void importChunk(Target target, List<ImportRow> rows, ImportReferenceCache references, int importedBy,
+                             ImportProgress progress, RowWriter<RowError> errors) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Interrupted by shutdown");
+        }
+        BulkResult result = new BulkResult(rows.size());
+        switch (target) {
+            case PROJECTS -> importProjects(rows, references, importedBy, result);
+            case TASKS -> importTasks(rows, references, result);
+        }
+        for (BulkResult.ItemError failure : result.getFailures()) {
+            errors.write(new RowError(rows.get(failure.getIndex()).line(), failure.getMessage()));
+        }
+        errors.finish();  // Failures so far can be downloaded while the import runs
+        progress.addChunk(rows.size(), result.getCreated(), result.getFailures().size());
+    }
+
+    // Fields: projectName, description, status, createdBy or createdByEmail
+    private void importProjects(List<ImportRow> rows, ImportReferenceCache references, int importedBy, BulkResult result) {
+        references.loadUsers(rows, "createdBy", "createdByEmail");
+
+        List<BatchWriter.Indexed<Project>> validRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            String projectName = row.get("projectName");
+            String status = row.get("status");
+            ImportReferenceCache.Resolved creator = references.user(row, "createdBy", "createdByEmail");
+            if (row.error() != null) {
+                result.fail(i, row.error());
+            } else if (projectName == null || projectName.length() > 150) {
+                result.fail(i, "Project name is required and may have at most 150 characters");
+            } else if (status != null && status.length() > 20) {
+                result.fail(i, "Status may have at most 20 characters");
+            } else if (creator.error() != null) {
+                result.fail(i, creator.error());
+            } else {
+                Project project = new Project();
+                project.setProjectName(projectName);
+                project.setDescription(row.get("description"));
+                project.setCreatedBy(creator.id() != null ? creator.id() : importedBy);
+                if (status != null) {
+                    project.setStatus(status);
+                }
+                validRows.add(new BatchWriter.Indexed<>(i, project));
+            }
+        }
+
+        Date createdAt = new Date();
+        batchWriter.write(validRows, projects -> {
+            List<Integer> ids = bulkInsertRepository.insertProjects(projects, createdAt);
+            projectQueryCache.evictAfterCommit();  // The JDBC batch bypasses Hibernate's query cache invalidation
+            for (int i = 0; i < ids.size(); i++) {
+                Project project = projects.get(i);
+                project.setId(ids.get(i));
+                eventPublisher.publishEvent(ProjectChangedEvent.created(project));  // Delivered if the chunk commits
+            }
+        }, result);
+    }
+
+    // Fields: taskName, status, projectId or projectName, assigneeId or assigneeEmail
+    private void importTasks(List<ImportRow> rows, ImportReferenceCache references, BulkResult result) {
+        references.loadProjects(rows, "projectId", "projectName");
+        references.loadUsers(rows, "assigneeId", "assigneeEmail");
+
+        List<BatchWriter.Indexed<TaskRequest>> validRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            String taskName = row.get("taskName");
+            ImportReferenceCache.Resolved project = references.project(row, "projectId", "projectName");
+            ImportReferenceCache.Resolved assignee = references.user(row, "assigneeId", "assigneeEmail");
+            if (row.error() != null) {
+                result.fail(i, row.error());
+            } else if (taskName == null || taskName.length() > 150) {
+                result.fail(i, "Task name is required and may have at most 150 characters");
+            } else if (row.get("status") == null) {
+                result.fail(i, "Status is required");
+            } else if (project.error() != null || project.id() == null) {
+                result.fail(i, project.error() != null ? project.error() : "projectId or projectName is required");
+            } else if (assignee.error() != null || assignee.id() == null) {
+                result.fail(i, assignee.error() != null ? assignee.error() : "assigneeId or assigneeEmail is required");
+            } else {
+                TaskRequest request = new TaskRequest();
+                request.setTaskName(taskName);
+                request.setStatus(row.get("status"));
+                request.setProjectId(project.id());
+                request.setAssigneeId(assignee.id());
+                validRows.add(new BatchWriter.Indexed<>(i, request));
+            }
+        }
+
+        Date createdAt = new Date();
+        batchWriter.write(validRows, tasks -> {
+            List<Integer> ids = bulkInsertRepository.insertTasks(tasks, createdAt);
+            for (int i = 0; i < ids.size(); i++) {
+                eventPublisher.publishEvent(TaskChangedEvent.created(ids.get(i), tasks.get(i)));  // Delivered if the chunk commits
+            }
+        }, result);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
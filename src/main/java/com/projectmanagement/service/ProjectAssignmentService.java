@@ -1,33 +1,190 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.BulkResult;
+import com.projectmanagement.dto.MembershipSyncResult;
+import com.projectmanagement.exception.CustomException;
 import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.pagination.SortKeys;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.ChangeLogEntry;
 import com.projectmanagement.repository.ProjectAssignmentRepository;
+import com.projectmanagement.repository.ProjectMembershipRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class ProjectAssignmentService {
 
+    // Properties the assignment lookups can be sorted by
+    public static final SortKeys SORT_KEYS = SortKeys.of("assignmentId", "assignedAt");
+
     @Autowired
     private ProjectAssignmentRepository projectAssignmentRepository;
 
-    // Assign a user to a project
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private BatchWriter batchWriter;
+
+    @Autowired
+    private ProjectMembershipRepository projectMembershipRepository;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    // Rows validated and inserted per batch in bulk requests
+    @Value("${bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    // Largest number of items accepted in one bulk request
+    @Value("${bulk.max-items:10000}")
+    private int bulkMaxItems;
+
+    // Assign a user to a project. Idempotent: the unique (project, user) constraint rejects a second
+    // row even under concurrent requests, and a repeated request returns the existing assignment.
+    @Transactional
     public ProjectAssignment assignUserToProject(ProjectAssignment assignment) {
-        if (projectAssignmentRepository.existsByProjectIdAndUserId(assignment.getProjectId(), assignment.getUserId())) {
-            throw new RuntimeException("User is already assigned to this project.");
+        int projectId = assignment.getProjectId();
+        int userId = assignment.getUserId();
+        // Both lookups are usually served by the second-level cache
+        if (projectRepository.findById(projectId).isEmpty()) {
+            throw new CustomException("Invalid project ID");
         }
-        return projectAssignmentRepository.save(assignment);
+        if (userRepository.findById(userId).isEmpty()) {
+            throw new CustomException("Invalid user ID");
+        }
+
+        Date assignedAt = new Date();
+        try {
+            assignment.setAssignmentId(projectMembershipRepository.insert(projectId, userId, assignedAt));
+            assignment.setAssignedAt(assignedAt);
+            changeLogService.record(ChangeLogEntry.Type.ASSIGNMENT, assignment.getAssignmentId(), false);
+            return assignment;
+        } catch (DuplicateKeyException e) {
+            // The conflicting row may have been committed after this transaction's snapshot was taken
+            return projectAssignmentRepository.findForShareByProjectIdAndUserId(projectId, userId).orElseThrow(() -> e);
+        }
+    }
+
+    // Make the given users the exact member set of a project: only missing members are inserted and
+    // only surplus members deleted, each in one batched statement. Syncs of the same project are
+    // serialized by a lock on the project row.
+    @Transactional
+    public MembershipSyncResult setProjectMembers(int projectId, Collection<Integer> userIds) {
+        if (userIds.size() > bulkMaxItems) {
+            throw new CustomException("A bulk request may contain at most " + bulkMaxItems + " items");
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new CustomException("User IDs must not be null");
+        }
+        if (projectRepository.findForUpdateById(projectId).isEmpty()) {
+            throw new CustomException("Invalid project ID");
+        }
+
+        Set<Integer> desired = new LinkedHashSet<>(userIds);
+        if (!desired.isEmpty()) {
+            Set<Integer> unknown = new LinkedHashSet<>(desired);
+            unknown.removeAll(userRepository.findExistingIds(desired));
+            if (!unknown.isEmpty()) {
+                throw new CustomException("Invalid user IDs: " + unknown);
+            }
+        }
+
+        Set<Integer> current = new HashSet<>(projectAssignmentRepository.findUserIdsByProjectId(projectId));
+        List<Integer> added = desired.stream().filter(userId -> !current.contains(userId)).toList();
+        List<Integer> removed = current.stream().filter(userId -> !desired.contains(userId)).sorted().toList();
+
+        projectMembershipRepository.insertIfAbsent(projectId, added, new Date());
+        changeLogService.recordAssignments(projectId, added, false);
+        changeLogService.recordAssignments(projectId, removed, true);  // Before the rows and their IDs are gone
+        projectMembershipRepository.delete(projectId, removed);
+        return new MembershipSyncResult(projectId, added, removed, desired.size() - added.size());
+    }
+
+    // Assign many users to projects at once: one ID lookup per referenced table, one lookup of the
+    // existing pairs and one JDBC batch per chunk. Invalid and duplicate items are reported in the result.
+    public BulkResult assignUsersToProjects(List<ProjectAssignment> assignments) {
+        if (assignments.size() > bulkMaxItems) {
+            throw new CustomException("A bulk request may contain at most " + bulkMaxItems + " items");
+        }
+
+        BulkResult result = new BulkResult(assignments.size());
+        Set<Long> seenPairs = new HashSet<>();  // Pairs already taken earlier in this request
+        Date assignedAt = new Date();
+        for (int start = 0; start < assignments.size(); start += bulkBatchSize) {
+            List<ProjectAssignment> chunk = assignments.subList(start, Math.min(start + bulkBatchSize, assignments.size()));
+
+            Set<Integer> projectIds = new HashSet<>();
+            Set<Integer> userIds = new HashSet<>();
+            for (ProjectAssignment assignment : chunk) {
+                projectIds.add(assignment.getProjectId());
+                userIds.add(assignment.getUserId());
+            }
+            Set<Integer> existingProjectIds = new HashSet<>(projectRepository.findExistingIds(projectIds));
+            Set<Integer> existingUserIds = new HashSet<>(userRepository.findExistingIds(userIds));
+            Set<Long> assignedPairs = new HashSet<>();
+            for (ProjectAssignment existing : projectAssignmentRepository.findByProjectIdInAndUserIdIn(projectIds, userIds)) {
+                assignedPairs.add(pairKey(existing.getProjectId(), existing.getUserId()));
+            }
+
+            List<BatchWriter.Indexed<ProjectAssignment>> validRows = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                ProjectAssignment assignment = chunk.get(i);
+                int index = start + i;
+                long pair = pairKey(assignment.getProjectId(), assignment.getUserId());
+                if (!existingProjectIds.contains(assignment.getProjectId())) {
+                    result.fail(index, "Invalid project ID");
+                } else if (!existingUserIds.contains(assignment.getUserId())) {
+                    result.fail(index, "Invalid user ID");
+                } else if (assignedPairs.contains(pair) || !seenPairs.add(pair)) {
+                    result.fail(index, "User is already assigned to this project.");
+                } else {
+                    validRows.add(new BatchWriter.Indexed<>(index, assignment));
+                }
+            }
+
+            batchWriter.write(validRows, rows -> changeLogService.record(ChangeLogEntry.Type.ASSIGNMENT,
+                    bulkInsertRepository.insertAssignments(rows, assignedAt), false), result);
+        }
+        return result;
+    }
+
+    private static long pairKey(int projectId, int userId) {
+        return ((long) projectId << 32) | (userId & 0xFFFFFFFFL);
     }
 
-    // Get all assignments for a specific project
-    public List<ProjectAssignment> getAssignmentsByProject(int projectId) {
-        return projectAssignmentRepository.findByProjectId(projectId);
+    // Get all assignments for a specific project, one page at a time
+    @Transactional(readOnly = true)
+    public Window<ProjectAssignment> getAssignmentsByProject(int projectId, ScrollRequest scrollRequest) {
+        return projectAssignmentRepository.findByProjectId(projectId, scrollRequest.position(), scrollRequest.sort(), scrollRequest.limit());
     }
 
-    // Get all assignments for a specific user
-    public List<ProjectAssignment> getAssignmentsByUser(int userId) {
-        return projectAssignmentRepository.findByUserId(userId);
+    // Get all assignments for a specific user, one page at a time
+    @Transactional(readOnly = true)
+    public Window<ProjectAssignment> getAssignmentsByUser(int userId, ScrollRequest scrollRequest) {
+        return projectAssignmentRepository.findByUserId(userId, scrollRequest.position(), scrollRequest.sort(), scrollRequest.limit());
     }
 }
@@ -1,51 +1,110 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.DeletionProgress;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.exception.ConflictException;
 import com.projectmanagement.exception.CustomException;
 import com.projectmanagement.model.Project;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.pagination.SortKeys;
+import com.projectmanagement.payload.ProjectPatch;
+import com.projectmanagement.repository.CascadeDeleteRepository.Target;
+import com.projectmanagement.repository.CollectionVersion;
+import com.projectmanagement.repository.CollectionVersionRepository;
+import com.projectmanagement.repository.PatchRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class ProjectService {
 
+    // Properties the project list endpoints can be sorted by
+    public static final SortKeys SORT_KEYS = SortKeys.of("id", "projectName", "status", "createdAt");
+
     @Autowired
     private ProjectRepository projectRepository;
 
-    // Get all projects
-    public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+    @Autowired
+    private PatchRepository patchRepository;
+
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;  // Change events for the search index and task statistics
+
+    @Autowired
+    private CollectionVersionRepository collectionVersionRepository;
+
+    // Get all projects, one page at a time
+    @Transactional(readOnly = true)
+    public Window<Project> getAllProjects(ScrollRequest scrollRequest) {
+        return projectRepository.findAllBy(scrollRequest.position(), scrollRequest.sort(), scrollRequest.limit());
     }
 
-    // Get all projects by status (e.g., "In Progress", "Completed")
-    public List<Project> getProjectsByStatus(String status) {
-        return projectRepository.findByStatus(status);
+    // Version of the project list, for its ETag
+    @Transactional(readOnly = true)
+    public CollectionVersion getAllProjectsVersion() {
+        return collectionVersionRepository.projects();
     }
 
-    // Get projects by the creator (user ID)
-    public List<Project> getProjectsByCreator(int createdBy) {
-        return projectRepository.findByCreatedBy(createdBy);
+    @Transactional(readOnly = true)
+    public CollectionVersion getProjectsByStatusVersion(String status) {
+        return collectionVersionRepository.projectsByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionVersion getProjectsByCreatorVersion(int createdBy) {
+        return collectionVersionRepository.projectsByCreator(createdBy);
+    }
+
+    // Get all projects by status (e.g., "In Progress", "Completed"), one page at a time
+    @Transactional(readOnly = true)
+    public Window<Project> getProjectsByStatus(String status, ScrollRequest scrollRequest) {
+        return projectRepository.findByStatus(status, scrollRequest.position(), scrollRequest.sort(), scrollRequest.limit());
+    }
+
+    // Get projects by the creator (user ID), one page at a time
+    @Transactional(readOnly = true)
+    public Window<Project> getProjectsByCreator(int createdBy, ScrollRequest scrollRequest) {
+        return projectRepository.findByCreatedBy(createdBy, scrollRequest.position(), scrollRequest.sort(), scrollRequest.limit());
     }
 
     // Create a new project
+    @Transactional
     public Project createProject(Project project) {
         // You can add custom validation here if needed (e.g., check if project with the same name already exists)
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.created(savedProject));
+        return savedProject;
     }
 
     // Get project by ID
+    @Transactional(readOnly = true)
     public Optional<Project> getProjectById(int id) {
         return projectRepository.findById(id);
     }
 
-    // Update a project
-    public Project updateProject(int id, Project updatedProject) {
+    // Update a project. With an expected version the update is rejected with 409 unless the project
+    // is still at that version; without one the last write wins.
+    @Transactional
+    public Project updateProject(int id, Long expectedVersion, Project updatedProject) {
         // Check if the project exists
         Project existingProject = projectRepository.findById(id).orElseThrow(() ->
                 new CustomException("Project not found with ID: " + id));
+        if (expectedVersion != null && existingProject.getVersion() != expectedVersion) {
+            throw new ConflictException("Project " + id + " was modified concurrently, reload and retry");
+        }
 
         // Update the existing project fields (but preserve createdAt)
         existingProject.setProjectName(updatedProject.getProjectName());
@@ -58,13 +117,48 @@ public class ProjectService {
         // `createdAt` will stay as is, it is not updated.
 
         // Save and return the updated project
-        return projectRepository.save(existingProject);
+        Project savedProject = projectRepository.save(existingProject);
+        eventPublisher.publishEvent(ProjectChangedEvent.updated(savedProject));
+        return savedProject;
+    }
+
+    // Apply the supplied fields in one conditional UPDATE and return the new version.
+    // Hibernate evicts the cached projects and project queries after the update.
+    @Transactional  // Commits the UPDATE together with its change log entry
+    public long patchProject(int id, long expectedVersion, ProjectPatch patch) {
+        if (patch.getProjectName() != null && (patch.getProjectName().isBlank() || patch.getProjectName().length() > 150)) {
+            throw new CustomException("Project name must not be blank and may have at most 150 characters");
+        }
+        if (patch.getStatus() != null && (patch.getStatus().isBlank() || patch.getStatus().length() > 20)) {
+            throw new CustomException("Status must not be blank and may have at most 20 characters");
+        }
+        if (patch.getProjectName() == null && patch.getDescription() == null && patch.getStatus() == null) {
+            throw new CustomException("No fields to update");
+        }
+
+        if (patchRepository.patchProject(id, expectedVersion, patch) == 0) {
+            if (!projectRepository.existsById(id)) {
+                throw new CustomException("Project not found with ID: " + id);
+            }
+            throw new ConflictException("Project " + id + " was modified concurrently, reload and retry");
+        }
+        eventPublisher.publishEvent(ProjectChangedEvent.patched(id, patch));
+        return expectedVersion + 1;
+    }
+
+    // Hit/miss statistics of the second-level cache regions (projects, users, projects by status)
+    public Map<String, Map<String, Object>> getEntityCacheStats() {
+        return secondLevelCacheStats.stats();
     }
 
-    // Delete a project
-    public void deleteProject(int id) {
-        // Before deletion, you could check if the project has any tasks or users associated (if applicable)
-        projectRepository.deleteById(id);
+    // Delete a project: hide it right away and remove its assignments, tasks and the row in the background.
+    // Repeating the request for a project that is still being deleted returns the running job.
+    public DeletionProgress deleteProject(int id) {
+        if (projectRepository.markDeleting(id) == 0 && !cascadeDeleteService.isMarked(Target.PROJECT, id)) {
+            throw new CustomException("Project not found with ID: " + id);
+        }
+        eventPublisher.publishEvent(ProjectChangedEvent.deleted(id));
+        return cascadeDeleteService.submit(Target.PROJECT, id);
     }
 
 }
@@ -0,0 +1,228 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.SearchHit;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.event.TaskState;
+import com.projectmanagement.event.UserDeletedEvent;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.repository.SearchSourceRepository;
+import com.projectmanagement.repository.SearchSourceRepository.IdRange;
+import com.projectmanagement.repository.SearchSourceRepository.ProjectRow;
+import com.projectmanagement.repository.SearchSourceRepository.TaskRow;
+import com.projectmanagement.search.SearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Serves search from an in-memory {@link SearchIndex}. The index is rebuilt from the database at
+ * startup, split into ID ranges loaded in parallel, and afterwards kept current from the project,
+ * task and user change events once their transaction has committed. Changes that arrive during a
+ * rebuild are applied to the old index and replayed onto the new one before it is swapped in.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    private final SearchSourceRepository searchSourceRepository;
+    private final TransactionTemplate primaryReads;
+    private final int rebuildThreads;
+    private final int pageSize;
+
+    private volatile SearchIndex index = new SearchIndex();
+    private volatile boolean ready;
+    // Orders index changes against the swap of a rebuilt index. A lock rather than a monitor: applying
+    // a change may wait for the index's write lock, which must not pin a virtual request thread.
+    private final ReentrantLock changeLock = new ReentrantLock();
+    // Changes applied since the running rebuild started, null when no rebuild is running (guarded by changeLock)
+    private List<Consumer<SearchIndex>> pendingChanges;
+
+    public SearchService(SearchSourceRepository searchSourceRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${search.rebuild.threads:0}") int rebuildThreads,
+                         @Value("${search.rebuild.page-size:5000}") int pageSize) {
+        this.searchSourceRepository = searchSourceRepository;
+        // Not read-only: a lagging replica could miss writes whose events were applied to the old index
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        this.pageSize = pageSize;
+    }
+
+    // Ranked projects and tasks containing every term of the query (no database access)
+    public List<SearchHit> search(String query, SearchIndex.Type type, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("The search index is being built, retry shortly", 5);
+        }
+        return index.search(query, type, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Search stays unavailable until an admin triggers a rebuild, the rest of the API is unaffected
+            logger.error("Search index not available: {}", e.getMessage());
+        }
+    }
+
+    // Load every project and task into a new index and swap it in; returns the number of documents
+    public int rebuild() {
+        changeLock.lock();
+        try {
+            if (pendingChanges != null) {
+                throw new ServiceUnavailableException("A rebuild of the search index is already running", 5);
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            changeLock.unlock();
+        }
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads, new CustomizableThreadFactory("search-rebuild-"));
+        try {
+            List<Future<SearchIndex>> parts = new ArrayList<>();
+            for (Callable<SearchIndex> partition : partitions()) {
+                parts.add(executor.submit(partition));
+            }
+            SearchIndex rebuilt = new SearchIndex();
+            for (Future<SearchIndex> part : parts) {
+                rebuilt.addAll(part.get());
+            }
+            changeLock.lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            } finally {
+                changeLock.unlock();
+            }
+            ready = true;
+            logger.info("Search index rebuilt with {} documents in {} ms", rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+            return rebuilt.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the search index", e);
+        } catch (ExecutionException e) {
+            logger.error("Rebuilding the search index failed", e.getCause());
+            throw new IllegalStateException("Rebuilding the search index failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            changeLock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                changeLock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        switch (event.change()) {
+            case CREATED, UPDATED -> apply(index -> index.putProject(event.projectId(), event.projectName(), event.description()));
+            case PATCHED -> apply(index -> index.patchProject(event.projectId(), event.projectName(), event.description()));
+            case DELETED -> apply(index -> index.removeProject(event.projectId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskState task = event.after();
+        switch (event.change()) {
+            case CREATED, UPDATED -> apply(index -> index.putTask(event.taskId(), task.taskName(), task.projectId(), task.assigneeId()));
+            case PATCHED -> apply(index -> index.patchTask(event.taskId(), task.taskName(), task.projectId(), task.assigneeId()));
+            case DELETED -> apply(index -> index.removeTask(event.taskId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(index -> index.removeTasksAssignedTo(event.userId()));
+    }
+
+    private void apply(Consumer<SearchIndex> change) {
+        changeLock.lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);  // Replayed onto the index being rebuilt
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    // One loader per ID range of each table, each filling its own partial index
+    private List<Callable<SearchIndex>> partitions() {
+        List<Callable<SearchIndex>> partitions = new ArrayList<>();
+        IdRange projects = primaryReads.execute(status -> searchSourceRepository.projectIdRange());
+        for (IdRange range : split(projects)) {
+            partitions.add(() -> loadProjects(range));
+        }
+        IdRange tasks = primaryReads.execute(status -> searchSourceRepository.taskIdRange());
+        for (IdRange range : split(tasks)) {
+            partitions.add(() -> loadTasks(range));
+        }
+        return partitions;
+    }
+
+    private List<IdRange> split(IdRange range) {
+        List<IdRange> ranges = new ArrayList<>();
+        if (range == null) {
+            return ranges;
+        }
+        long size = ((long) range.max() - range.min()) / rebuildThreads + 1;
+        for (long from = range.min(); from <= range.max(); from += size) {
+            ranges.add(new IdRange((int) from, (int) Math.min(range.max(), from + size - 1)));
+        }
+        return ranges;
+    }
+
+    private SearchIndex loadProjects(IdRange range) {
+        SearchIndex part = new SearchIndex();
+        int afterId = range.min() - 1;
+        List<ProjectRow> rows;
+        do {
+            int from = afterId;
+            rows = primaryReads.execute(status -> searchSourceRepository.findProjects(from, range.max(), pageSize));
+            for (ProjectRow row : rows) {
+                part.putProject(row.id(), row.projectName(), row.description());
+                afterId = row.id();
+            }
+        } while (rows.size() == pageSize);
+        return part;
+    }
+
+    private SearchIndex loadTasks(IdRange range) {
+        SearchIndex part = new SearchIndex();
+        int afterId = range.min() - 1;
+        List<TaskRow> rows;
+        do {
+            int from = afterId;
+            rows = primaryReads.execute(status -> searchSourceRepository.findTasks(from, range.max(), pageSize));
+            for (TaskRow row : rows) {
+                part.putTask(row.id(), row.taskName(), row.projectId(), row.assigneeId());
+                afterId = row.id();
+            }
+        } while (rows.size() == pageSize);
+        return part;
+    }
+}
@@ -0,0 +1,50 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hit ratios of the Hibernate second-level cache regions, read from Hibernate's statistics.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private static final List<String> REGIONS = List.of(
+            SecondLevelCacheConfig.PROJECTS_REGION,
+            SecondLevelCacheConfig.USERS_REGION,
+            SecondLevelCacheConfig.PROJECTS_BY_STATUS_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            stats.put(region, describe(statistics.getCacheRegionStatistics(region)));
+        }
+        return stats;
+    }
+
+    private static Map<String, Object> describe(CacheRegionStatistics regionStatistics) {
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("hits", hits);
+        description.put("misses", misses);
+        description.put("puts", regionStatistics.getPutCount());
+        description.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return description;
+    }
+}
@@ -0,0 +1,158 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.SyncChange;
+import com.projectmanagement.dto.SyncPage;
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.repository.ChangeLogEntry;
+import com.projectmanagement.repository.ChangeLogRepository;
+import com.projectmanagement.repository.ProjectAssignmentRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Delta sync: the tasks, projects and assignments changed after a cursor (a change log sequence
+ * number), read along the log's primary key and loaded with one query per entity type.
+ *
+ * Sequence numbers are taken when a transaction writes its entries, so a transaction that commits
+ * late can leave a gap that is filled afterwards. A page stops before a gap younger than the commit
+ * grace period, the client picks up from there on its next call; older gaps are rolled back writes.
+ */
+@Service
+public class SyncService {
+
+    // Latest entries examined to find where a client that reloads everything continues from
+    private static final int RESYNC_SCAN_SIZE = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogService changeLogService;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectAssignmentRepository projectAssignmentRepository;
+    private final TransactionTemplate primaryReads;
+    private final long commitGraceMillis;
+
+    public SyncService(ChangeLogRepository changeLogRepository,
+                       ChangeLogService changeLogService,
+                       TaskRepository taskRepository,
+                       ProjectRepository projectRepository,
+                       ProjectAssignmentRepository projectAssignmentRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${sync.commit-grace:PT5S}") Duration commitGrace) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogService = changeLogService;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.projectAssignmentRepository = projectAssignmentRepository;
+        // A replica applies commits in commit order, not sequence order, so a gap there says nothing
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.commitGraceMillis = commitGrace.toMillis();
+    }
+
+    // Up to limit change log entries after the cursor, each changed entity once with its current state
+    public SyncPage getChanges(long cursor, int limit) {
+        if (cursor < 0) {
+            throw new CustomException("Cursor must not be negative");
+        }
+        return primaryReads.execute(status -> read(cursor, limit));
+    }
+
+    private SyncPage read(long cursor, int limit) {
+        Date settled = new Date(System.currentTimeMillis() - commitGraceMillis);
+        long prunedThrough = changeLogService.getPrunedThrough();
+        if (cursor < prunedThrough) {
+            return new SyncPage(List.of(), resyncCursor(settled, prunedThrough), false, true);
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findAfter(cursor, limit + 1);
+        boolean hasMore = entries.size() > limit;
+        List<ChangeLogEntry> page = new ArrayList<>();
+        long next = cursor;
+        for (ChangeLogEntry entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            if (entry.seq() != next + 1 && entry.changedAt().after(settled)) {
+                hasMore = false;  // The missing numbers may still commit
+                break;
+            }
+            page.add(entry);
+            next = entry.seq();
+        }
+        return new SyncPage(resolve(page), next, hasMore, false);
+    }
+
+    // The newest entry written before the grace period: every lower sequence number has committed or never will
+    private long resyncCursor(Date settled, long prunedThrough) {
+        for (ChangeLogEntry entry : changeLogRepository.findLatest(RESYNC_SCAN_SIZE)) {
+            if (!entry.changedAt().after(settled)) {
+                return Math.max(entry.seq(), prunedThrough);
+            }
+        }
+        return prunedThrough;
+    }
+
+    // Keep the last entry per entity and load the current state of the ones not deleted
+    private List<SyncChange> resolve(List<ChangeLogEntry> page) {
+        Map<String, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : page) {
+            String key = entry.type() + ":" + entry.entityId();
+            latest.remove(key);  // Re-inserted so the order follows the last change
+            latest.put(key, entry);
+        }
+
+        Map<ChangeLogEntry.Type, List<Integer>> idsByType = new EnumMap<>(ChangeLogEntry.Type.class);
+        for (ChangeLogEntry entry : latest.values()) {
+            if (!entry.deleted()) {
+                idsByType.computeIfAbsent(entry.type(), type -> new ArrayList<>()).add(entry.entityId());
+            }
+        }
+        Map<ChangeLogEntry.Type, Map<Integer, Object>> loaded = new EnumMap<>(ChangeLogEntry.Type.class);
+        idsByType.forEach((type, ids) -> loaded.put(type, load(type, ids)));
+
+        List<SyncChange> changes = new ArrayList<>(latest.size());
+        for (ChangeLogEntry entry : latest.values()) {
+            // Gone by now, or hidden while its project or assignee is being deleted: its tombstone follows
+            Object data = entry.deleted() ? null : loaded.getOrDefault(entry.type(), Map.of()).get(entry.entityId());
+            changes.add(new SyncChange(entry.seq(), entry.type().name().toLowerCase(Locale.ROOT), entry.entityId(),
+                    data == null, data));
+        }
+        return changes;
+    }
+
+    private Map<Integer, Object> load(ChangeLogEntry.Type type, List<Integer> ids) {
+        Map<Integer, Object> byId = new HashMap<>();
+        switch (type) {
+            case TASK -> {
+                for (Task task : taskRepository.findWithProjectAndAssigneeByIdIn(ids)) {
+                    byId.put(task.getId(), TaskView.from(task));
+                }
+            }
+            case PROJECT -> {
+                for (Project project : projectRepository.findAllById(ids)) {
+                    byId.put(project.getId(), project);
+                }
+            }
+            case ASSIGNMENT -> {
+                for (ProjectAssignment assignment : projectAssignmentRepository.findAllById(ids)) {
+                    byId.put(assignment.getAssignmentId(), assignment);
+                }
+            }
+        }
+        return byId;
+    }
+}
@@ -1,20 +1,53 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.BulkResult;
+import com.projectmanagement.dto.TaskCounts;
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.event.TaskState;
+import com.projectmanagement.exception.ConflictException;
+import com.projectmanagement.exception.CustomException;
 import com.projectmanagement.model.Project;
 import com.projectmanagement.model.Task;
 import com.projectmanagement.model.User;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.pagination.SortKeys;
+import com.projectmanagement.payload.TaskFilter;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.payload.TaskRequest;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.CollectionVersion;
+import com.projectmanagement.repository.CollectionVersionRepository;
+import com.projectmanagement.repository.PatchRepository;
+import com.projectmanagement.repository.StatusCount;
+import com.projectmanagement.repository.TaskSpecifications;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TaskService {
 
+    // Properties the task list endpoint can be sorted by
+    public static final SortKeys SORT_KEYS = SortKeys.of("id", "taskName", "status", "createdAt");
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -24,12 +57,61 @@ public class TaskService {
     @Autowired
     private UserRepository userRepository;
 
-    // Get all tasks
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @Autowired
+    private BulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private BatchWriter batchWriter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;  // Change events for the search index and task statistics
+
+    @Autowired
+    private PatchRepository patchRepository;
+
+    @Autowired
+    private CollectionVersionRepository collectionVersionRepository;
+
+    // Rows validated and inserted per batch in bulk requests
+    @Value("${bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    // Largest number of items accepted in one bulk request
+    @Value("${bulk.max-items:10000}")
+    private int bulkMaxItems;
+
+    // Get all tasks matching the filter as flat views, one page at a time
+    @Transactional(readOnly = true)
+    public Window<TaskView> getAllTasks(TaskFilter filter, ScrollRequest scrollRequest) {
+        Specification<Task> specification = TaskSpecifications.matching(filter)
+                .and(TaskSpecifications.fetchProjectAndAssignee());  // One join query per page
+        return taskRepository.findBy(specification, query -> query
+                        .sortBy(scrollRequest.sort())
+                        .limit(scrollRequest.size())
+                        .scroll(scrollRequest.position()))
+                .map(TaskView::from);
+    }
+
+    // Version of the tasks matching the filter, for the ETag of the task list
+    @Transactional(readOnly = true)
+    public CollectionVersion getAllTasksVersion(TaskFilter filter) {
+        return collectionVersionRepository.tasks(TaskSpecifications.matching(filter));
+    }
+
+    // Count the tasks of a project per status
+    @Transactional(readOnly = true)
+    public TaskCounts countTasksByProject(int projectId) {
+        return toTaskCounts(taskRepository.countByStatusForProject(projectId));
+    }
+
+    // Count the tasks assigned to a user per status
+    @Transactional(readOnly = true)
+    public TaskCounts countTasksByAssignee(int userId) {
+        return toTaskCounts(taskRepository.countByStatusForAssignee(userId));
     }
 
     // Create a new task
+    @Transactional
     public Task createTask(Task task) {
         // Set the project and user based on their IDs
         Project project = projectRepository.findById(task.getProject().getId())
@@ -41,32 +123,150 @@ public class TaskService {
         task.setAssignedTo(user);
         task.setCreatedAt(new java.util.Date());  // Set the createdAt to current time
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+        return savedTask;
     }
 
-    // Get task by ID
-    public Optional<Task> getTaskById(int id) {
-        return taskRepository.findById(id);
+    // Create many tasks at once: one ID lookup per referenced table and one JDBC batch per chunk.
+    // Invalid items are reported in the result instead of failing the whole request.
+    public BulkResult createTasks(List<TaskRequest> requests) {
+        if (requests.size() > bulkMaxItems) {
+            throw new CustomException("A bulk request may contain at most " + bulkMaxItems + " items");
+        }
+
+        BulkResult result = new BulkResult(requests.size());
+        Date createdAt = new Date();
+        for (int start = 0; start < requests.size(); start += bulkBatchSize) {
+            List<TaskRequest> chunk = requests.subList(start, Math.min(start + bulkBatchSize, requests.size()));
+
+            // Validate the referenced projects and users of the whole chunk with one IN query each
+            Set<Integer> projectIds = new HashSet<>();
+            Set<Integer> userIds = new HashSet<>();
+            for (TaskRequest request : chunk) {
+                if (request.getProjectId() != null) {
+                    projectIds.add(request.getProjectId());
+                }
+                if (request.getAssigneeId() != null) {
+                    userIds.add(request.getAssigneeId());
+                }
+            }
+            Set<Integer> existingProjectIds = projectIds.isEmpty() ? Set.of() : new HashSet<>(projectRepository.findExistingIds(projectIds));
+            Set<Integer> existingUserIds = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+
+            List<BatchWriter.Indexed<TaskRequest>> validRows = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                TaskRequest request = chunk.get(i);
+                int index = start + i;
+                if (request.getTaskName() == null || request.getTaskName().isBlank() || request.getTaskName().length() > 150) {
+                    result.fail(index, "Task name is required and may have at most 150 characters");
+                } else if (request.getStatus() == null || request.getStatus().isBlank()) {
+                    result.fail(index, "Status is required");
+                } else if (request.getProjectId() == null || !existingProjectIds.contains(request.getProjectId())) {
+                    result.fail(index, "Invalid project ID");
+                } else if (request.getAssigneeId() == null || !existingUserIds.contains(request.getAssigneeId())) {
+                    result.fail(index, "Invalid user ID");
+                } else {
+                    validRows.add(new BatchWriter.Indexed<>(index, request));
+                }
+            }
+
+            batchWriter.write(validRows, rows -> {
+                List<Integer> ids = bulkInsertRepository.insertTasks(rows, createdAt);
+                for (int i = 0; i < ids.size(); i++) {
+                    eventPublisher.publishEvent(TaskChangedEvent.created(ids.get(i), rows.get(i)));  // Delivered if the batch commits
+                }
+            }, result);
+        }
+        return result;
     }
 
-    // Update a task
-    public Task updateTask(int id, Task task) {
+    // Get task by ID as a flat view
+    @Transactional(readOnly = true)
+    public Optional<TaskView> getTaskById(int id) {
+        return taskRepository.findWithProjectAndAssigneeById(id).map(TaskView::from);
+    }
+
+    // Update a task. With an expected version the update is rejected with 409 unless the task is
+    // still at that version; without one the last write wins.
+    @Transactional
+    public Task updateTask(int id, Long expectedVersion, Task task) {
         // Ensure the task exists
         Task existingTask = taskRepository.findById(id).orElseThrow(() ->
                 new IllegalArgumentException("Task not found with ID: " + id));
+        if (expectedVersion != null && existingTask.getVersion() != expectedVersion) {
+            throw new ConflictException("Task " + id + " was modified concurrently, reload and retry");
+        }
+
+        // Resolve the project and user from their IDs (associations are lazy, the request only carries IDs)
+        Project project = projectRepository.findById(task.getProject().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid project ID"));
+        User user = userRepository.findById(task.getAssignedTo().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid user ID"));
 
         // Set the ID for the task and update other fields
+        TaskState before = TaskState.of(existingTask);
         task.setId(id);
         existingTask.setTaskName(task.getTaskName());
         existingTask.setStatus(task.getStatus());
-        existingTask.setProject(task.getProject());  // Set the project based on the ID
-        existingTask.setAssignedTo(task.getAssignedTo());  // Set the assigned user based on the ID
+        existingTask.setProject(project);  // Set the project based on the ID
+        existingTask.setAssignedTo(user);  // Set the assigned user based on the ID
 
-        return taskRepository.save(existingTask);
+        Task savedTask = taskRepository.save(existingTask);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        return savedTask;
+    }
+
+    // Apply the supplied fields in one conditional UPDATE and return the new version.
+    // Project and assignee IDs are checked by the foreign keys instead of extra lookups.
+    @Transactional  // Commits the UPDATE together with its change log entry
+    public long patchTask(int id, long expectedVersion, TaskPatch patch) {
+        if (patch.getTaskName() != null && (patch.getTaskName().isBlank() || patch.getTaskName().length() > 150)) {
+            throw new CustomException("Task name must not be blank and may have at most 150 characters");
+        }
+        if (patch.getStatus() != null && patch.getStatus().isBlank()) {
+            throw new CustomException("Status must not be blank");
+        }
+        if (patch.getTaskName() == null && patch.getStatus() == null
+                && patch.getProjectId() == null && patch.getAssigneeId() == null) {
+            throw new CustomException("No fields to update");
+        }
+
+        // The only previous value listeners need that the UPDATE cannot report (the statistics recount both projects)
+        Integer previousProjectId = patch.getProjectId() != null ? taskRepository.findProjectIdById(id).orElse(null) : null;
+
+        int updated;
+        try {
+            updated = patchRepository.patchTask(id, expectedVersion, patch);
+        } catch (DataIntegrityViolationException e) {
+            throw new CustomException("Invalid project or user ID");
+        }
+        if (updated == 0) {
+            if (!taskRepository.existsById(id)) {
+                throw new CustomException("Task not found with ID: " + id);
+            }
+            throw new ConflictException("Task " + id + " was modified concurrently, reload and retry");
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.patched(id, previousProjectId, patch));
+        return expectedVersion + 1;
     }
 
     // Delete a task
+    @Transactional
     public void deleteTask(int id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
+        });
+    }
+
+    private static TaskCounts toTaskCounts(List<StatusCount> statusCounts) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (StatusCount statusCount : statusCounts) {
+            byStatus.put(statusCount.getStatus(), statusCount.getCount());
+            total += statusCount.getCount();
+        }
+        return new TaskCounts(total, byStatus);
     }
 }
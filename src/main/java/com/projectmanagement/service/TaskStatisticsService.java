@@ -0,0 +1,368 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.ProjectTaskSummary;
+import com.projectmanagement.event.ChangeType;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.event.TaskState;
+import com.projectmanagement.event.UserDeletedEvent;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.repository.ProjectTaskCount;
+import com.projectmanagement.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Per-project task counts (per status and per assignee) kept in memory, so a project summary costs
+ * the same however many tasks the project has. The counters are loaded at startup and then follow the
+ * committed task change events. A patch does not report the status it replaced, so a patched project
+ * is recounted in the background with one GROUP BY over its tasks. A periodic GROUP BY over all tasks
+ * repairs any drift; a project whose counters change while it is being counted is left alone and
+ * picked up by the next recount.
+ *
+ * A task write is visible to a count as soon as it commits, but its event is applied to the counters
+ * only after that. So a project counts as being written to from just before the commit until its
+ * events have been applied, and a count is only taken over if no write was in flight at its start
+ * and end; otherwise the project is recounted once the writes have completed.
+ */
+@Service
+public class TaskStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatisticsService.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate primaryReads;
+    private final Set<String> completedStatuses = new HashSet<>();
+    private final Map<Integer, ProjectCounters> projects = new ConcurrentHashMap<>();
+    // Projects waiting for a recount, deduplicated so a burst of patches costs one query
+    private final Set<Integer> staleProjects = ConcurrentHashMap.newKeySet();
+    private final ExecutorService recounts = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("task-statistics-"));
+    private volatile boolean ready;
+
+    public TaskStatisticsService(TaskRepository taskRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${stats.completed-statuses:DONE,COMPLETED}") String[] completedStatuses) {
+        this.taskRepository = taskRepository;
+        // Counts are compared against the counters, a lagging replica would look like drift
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        for (String status : completedStatuses) {
+            this.completedStatuses.add(status.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Summary of a project's tasks, read from the counters (no database access)
+    public ProjectTaskSummary getProjectSummary(int projectId) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Task statistics are being loaded, retry shortly", 5);
+        }
+        ProjectCounters counters = projects.get(projectId);
+        return counters != null ? counters.summary(projectId, completedStatuses)
+                : new ProjectTaskSummary(projectId, 0, Map.of(), Map.of(), 0, 0);
+    }
+
+    // Runs inside the writing transaction; events applied as deltas mark their projects as written to
+    @EventListener
+    public void onTaskWriting(TaskChangedEvent event) {
+        if (event.change() == ChangeType.PATCHED || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;  // Patches are recounted rather than applied
+        }
+        Set<Integer> projectIds = writtenProjects();
+        if (event.before() != null) {
+            projectIds.add(event.before().projectId());
+        }
+        if (event.after() != null) {
+            projectIds.add(event.after().projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskState before = event.before();
+        TaskState after = event.after();
+        if (event.change() == ChangeType.PATCHED) {
+            if (after.status() == null && after.projectId() == null && after.assigneeId() == null) {
+                return;  // Renamed only
+            }
+            if (before != null) {
+                markStale(before.projectId());
+            }
+            if (after.projectId() != null) {
+                markStale(after.projectId());
+            } else {
+                recounts.execute(() -> primaryReads.execute(status -> taskRepository.findProjectIdById(event.taskId()))
+                        .ifPresent(this::markStale));
+            }
+            return;
+        }
+        if (!ready) {
+            // Counting has not finished, adding to it could count this task twice
+            if (before != null) {
+                markStale(before.projectId());
+            }
+            if (after != null) {
+                markStale(after.projectId());
+            }
+            return;
+        }
+        if (before != null) {
+            counters(before.projectId()).add(before.status(), before.assigneeId(), -1);
+        }
+        if (after != null) {
+            counters(after.projectId()).add(after.status(), after.assigneeId(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.change() == ChangeType.DELETED) {
+            projects.remove(event.projectId());
+        }
+    }
+
+    // The user's tasks are hidden from now on, recount every project they have tasks in
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        projects.forEach((projectId, counters) -> {
+            if (counters.hasAssignee(event.userId())) {
+                markStale(projectId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reconcile();
+            ready = true;
+            staleProjects.forEach(this::submitRecount);  // Changed while loading
+        } catch (RuntimeException e) {
+            logger.error("Task statistics not available: {}", e.getMessage());
+        }
+    }
+
+    // Compare every project's counters with a GROUP BY over all tasks and fix the ones that drifted
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval:PT10M}", initialDelayString = "${stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        Map<Integer, Long> modifications = new HashMap<>();
+        projects.forEach((projectId, counters) -> modifications.put(projectId, counters.startCount()));
+
+        Map<Integer, ProjectCounters> counted = group(primaryReads.execute(status -> taskRepository.countByProjectStatusAndAssignee()));
+        Set<Integer> projectIds = new HashSet<>(modifications.keySet());
+        projectIds.addAll(counted.keySet());
+        int corrected = 0;
+        for (int projectId : projectIds) {
+            ProjectCounters actual = counted.getOrDefault(projectId, new ProjectCounters());
+            Long expectedModifications = modifications.get(projectId);
+            ProjectCounters current = projects.get(projectId);
+            if (expectedModifications == null) {
+                if (projects.putIfAbsent(projectId, actual) == null && ready) {
+                    corrected++;
+                }
+            } else if (expectedModifications >= 0 && current != null && current.resetIfUnchanged(expectedModifications, actual)) {
+                corrected++;
+            }
+        }
+        if (corrected > 0 && ready) {
+            logger.warn("Task statistics of {} projects drifted and were recounted", corrected);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recounts.shutdownNow();
+    }
+
+    private void markStale(int projectId) {
+        if (staleProjects.add(projectId) && ready) {
+            submitRecount(projectId);
+        }
+    }
+
+    private void submitRecount(int projectId) {
+        recounts.execute(() -> {
+            staleProjects.remove(projectId);
+            try {
+                recount(projectId);
+            } catch (RuntimeException e) {
+                logger.warn("Recounting the tasks of project {} failed: {}", projectId, e.getMessage());
+            }
+        });
+    }
+
+    private void recount(int projectId) {
+        ProjectCounters counters = counters(projectId);
+        long expectedModifications = counters.startCount();
+        if (expectedModifications < 0) {
+            return;  // Recounted once the writes in flight have completed
+        }
+        List<ProjectTaskCount> rows = primaryReads.execute(status -> taskRepository.countByStatusAndAssigneeForProject(projectId));
+        ProjectCounters actual = group(rows).getOrDefault(projectId, new ProjectCounters());
+        if (!counters.resetIfUnchanged(expectedModifications, actual) && counters.modifications() != expectedModifications) {
+            markStale(projectId);  // Changed while counting, count again
+        }
+    }
+
+    // Projects written to by the current transaction. Just before the commit they are marked as having
+    // a write in flight, which ends once the transaction's events have been applied after the commit.
+    @SuppressWarnings("unchecked")
+    private Set<Integer> writtenProjects() {
+        Set<Integer> written = (Set<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (written != null) {
+            return written;
+        }
+        Set<Integer> created = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private final List<ProjectCounters> inFlight = new ArrayList<>();
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                for (int projectId : created) {
+                    ProjectCounters counters = counters(projectId);
+                    counters.beginWrite();
+                    inFlight.add(counters);
+                }
+            }
+
+            // Runs after every afterCommit callback, including the event listeners applying the deltas
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TaskStatisticsService.this);
+                Iterator<Integer> projectIds = created.iterator();
+                for (ProjectCounters counters : inFlight) {
+                    int projectId = projectIds.next();
+                    if (counters.endWrite()) {
+                        markStale(projectId);
+                    }
+                }
+            }
+        });
+        return created;
+    }
+
+    private ProjectCounters counters(int projectId) {
+        return projects.computeIfAbsent(projectId, id -> new ProjectCounters());
+    }
+
+    private static Map<Integer, ProjectCounters> group(List<ProjectTaskCount> rows) {
+        Map<Integer, ProjectCounters> grouped = new HashMap<>();
+        for (ProjectTaskCount row : rows) {
+            grouped.computeIfAbsent(row.getProjectId(), id -> new ProjectCounters())
+                    .add(row.getStatus(), row.getAssigneeId(), row.getCount());
+        }
+        return grouped;
+    }
+
+    // Counts of one project; every access holds the instance lock
+    private static final class ProjectCounters {
+        private final Map<String, Long> byStatus = new HashMap<>();
+        private final Map<Integer, Long> byAssignee = new HashMap<>();
+        private long total;
+        private long modifications;
+        private int writesInFlight;
+        private boolean recountWhenIdle;  // A count was refused because of writes in flight
+
+        synchronized void add(String status, int assigneeId, long delta) {
+            byStatus.merge(status, delta, (current, change) -> current + change == 0 ? null : current + change);
+            byAssignee.merge(assigneeId, delta, (current, change) -> current + change == 0 ? null : current + change);
+            total += delta;
+            modifications++;
+        }
+
+        synchronized long modifications() {
+            return modifications;
+        }
+
+        synchronized void beginWrite() {
+            writesInFlight++;
+        }
+
+        // True if the last write in flight ended and a count was refused in the meantime
+        synchronized boolean endWrite() {
+            writesInFlight--;
+            if (writesInFlight == 0 && recountWhenIdle) {
+                recountWhenIdle = false;
+                return true;
+            }
+            return false;
+        }
+
+        // The modification count to pass to resetIfUnchanged, or -1 if a count now cannot be trusted
+        synchronized long startCount() {
+            if (writesInFlight > 0) {
+                recountWhenIdle = true;
+                return -1;
+            }
+            return modifications;
+        }
+
+        synchronized boolean hasAssignee(int assigneeId) {
+            return byAssignee.containsKey(assigneeId);
+        }
+
+        // Take over the counted values unless events were applied since the count started or writes are
+        // in flight now; true if they differed
+        synchronized boolean resetIfUnchanged(long expectedModifications, ProjectCounters actual) {
+            if (modifications != expectedModifications) {
+                return false;
+            }
+            if (writesInFlight > 0) {
+                recountWhenIdle = true;
+                return false;
+            }
+            Map<String, Long> actualByStatus;
+            Map<Integer, Long> actualByAssignee;
+            synchronized (actual) {
+                actualByStatus = new HashMap<>(actual.byStatus);
+                actualByAssignee = new HashMap<>(actual.byAssignee);
+            }
+            if (byStatus.equals(actualByStatus) && byAssignee.equals(actualByAssignee)) {
+                return false;
+            }
+            byStatus.clear();
+            byStatus.putAll(actualByStatus);
+            byAssignee.clear();
+            byAssignee.putAll(actualByAssignee);
+            total = actualByStatus.values().stream().mapToLong(Long::longValue).sum();
+            modifications++;
+            return true;
+        }
+
+        synchronized ProjectTaskSummary summary(int projectId, Set<String> completedStatuses) {
+            long completed = 0;
+            for (Map.Entry<String, Long> entry : byStatus.entrySet()) {
+                if (completedStatuses.contains(entry.getKey().toUpperCase(Locale.ROOT))) {
+                    completed += entry.getValue();
+                }
+            }
+            double percentage = total == 0 ? 0 : Math.round(completed * 1000.0 / total) / 10.0;
+            return new ProjectTaskSummary(projectId, total, new LinkedHashMap<>(byStatus), new LinkedHashMap<>(byAssignee),
+                    completed, percentage);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.projectmanagement.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process cache of users keyed by email and by id.
+ * Entries are detached entities shared between callers, so they must be treated as read-only;
+ * every write in {@link UserService} invalidates the affected keys.
+ * Loads run in a read-write transaction so they are never routed to a read replica: a token
+ * version read from a lagging replica would stay cached for the whole TTL.
+ * A miss is loaded by the first caller on its own thread while concurrent callers wait for that
+ * load, and no cache lock is held during the query: a monitor held across JDBC I/O would pin a
+ * virtual thread to its carrier.
+ * A user found under one key is added under the other key too, unless an invalidation ran since the
+ * lookup started: the user may then be older than the invalidated entry.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryReads;
+    private final AsyncCache<String, User> usersByEmail;
+    private final AsyncCache<Integer, User> usersById;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(UserRepository userRepository,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${cache.users.max-size:10000}") long maxSize,
+                     @Value("${cache.users.ttl:PT5M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Find a user by email, loading and caching it on a miss
+    public Optional<User> findByEmail(String email) {
+        long generation = invalidations.get();
+        User user = get(usersByEmail, email, userRepository::findByEmail);
+        if (user != null) {
+            putIfCurrent(usersById, user.getId(), user, generation);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    // Find a user by ID, loading and caching it on a miss
+    public Optional<User> findById(int id) {
+        long generation = invalidations.get();
+        User user = get(usersById, id, userRepository::findById);
+        if (user != null) {
+            putIfCurrent(usersByEmail, user.getEmail(), user, generation);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    // Remove every cached entry for the given user
+    public void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+        invalidations.incrementAndGet();  // Before the removal, so a concurrent putIfCurrent sees it
+        usersById.synchronous().invalidate(user.getId());
+        if (user.getEmail() != null) {
+            usersByEmail.synchronous().invalidate(user.getEmail());
+        }
+    }
+
+    // Hit/miss statistics for both lookups
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("byEmail", describe(usersByEmail.synchronous()));
+        stats.put("byId", describe(usersById.synchronous()));
+        return stats;
+    }
+
+    // Add a user found under the other key, unless it is already cached or an invalidation ran since
+    // the given generation. The check after the insert catches an invalidation that ran concurrently.
+    private <K> void putIfCurrent(AsyncCache<K, User> cache, K key, User user, long generation) {
+        if (invalidations.get() != generation) {
+            return;
+        }
+        CompletableFuture<User> entry = CompletableFuture.completedFuture(user);
+        if (cache.asMap().putIfAbsent(key, entry) == null && invalidations.get() != generation) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    // Cached user, or null; a missing user is not cached. Failed and null loads leave no entry behind.
+    private <K> User get(AsyncCache<K, User> cache, K key, Function<K, Optional<User>> loader) {
+        CompletableFuture<User> user = cache.getIfPresent(key);  // Records the hit or miss
+        if (user == null) {
+            CompletableFuture<User> loading = new CompletableFuture<>();
+            user = cache.asMap().putIfAbsent(key, loading);
+            if (user == null) {
+                try {
+                    loading.complete(primaryReads.execute(status -> loader.apply(key).orElse(null)));
+                } catch (RuntimeException e) {
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+                user = loading;
+            }
+        }
+        try {
+            return user.join();
+        } catch (CompletionException e) {
+            // Another caller's load failed; rethrow its exception as if this caller had run it
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.estimatedSize());
+        description.put("hits", cacheStats.hitCount());
+        description.put("misses", cacheStats.missCount());
+        description.put("hitRate", cacheStats.hitRate());
+        description.put("evictions", cacheStats.evictionCount());
+        return description;
+    }
+}
@@ -1,15 +1,28 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.DeletionProgress;
 import com.projectmanagement.dto.UserDetailsResponse;
+import com.projectmanagement.event.UserDeletedEvent;
+import com.projectmanagement.exception.ConflictException;
 import com.projectmanagement.exception.CustomException;
 import com.projectmanagement.model.User;
+import com.projectmanagement.pagination.ScrollRequest;
+import com.projectmanagement.pagination.SortKeys;
+import com.projectmanagement.payload.UserPatch;
+import com.projectmanagement.repository.CascadeDeleteRepository.Target;
+import com.projectmanagement.repository.CollectionVersion;
+import com.projectmanagement.repository.CollectionVersionRepository;
+import com.projectmanagement.repository.PatchRepository;
 import com.projectmanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,15 +31,41 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PatchRepository patchRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CollectionVersionRepository collectionVersionRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;  // Hashes on the bounded password hashing executor
 
     // Constants for roles (optional but helps avoid errors due to hardcoded strings)
     public static final String ROLE_USER = "ROLE_USER";
     public static final String ROLE_ADMIN = "ROLE_ADMIN";
 
-    // Get all users
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // Properties the user list endpoint can be sorted by
+    public static final SortKeys SORT_KEYS = SortKeys.of("id", "name", "email", "createdAt");
+
+    // Get all users, one page at a time
+    @Transactional(readOnly = true)
+    public Window<User> getAllUsers(ScrollRequest scrollRequest) {
+        return userRepository.findAllBy(scrollRequest.position(), scrollRequest.sort(), scrollRequest.limit());
+    }
+
+    // Version of the user list, for its ETag
+    @Transactional(readOnly = true)
+    public CollectionVersion getAllUsersVersion() {
+        return collectionVersionRepository.users();
     }
 
     // Create a new user
@@ -42,22 +81,22 @@ public class UserService {
 
         // Encode the password before saving the user
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(savedUser);
+        return savedUser;
     }
 
     // Get user by ID
     public User getUserById(int id) {
-        return userRepository.findById(id).orElseThrow(() ->
+        return userCache.findById(id).orElseThrow(() ->
                 new CustomException("User not found with ID: " + id));
     }
 
-    // Update a user
-    public User updateUser(int id, User user) {
-        if (!userRepository.existsById(id)) {
-            throw new CustomException("User not found with ID: " + id);
-        }
-
-        User existingUser = userRepository.findById(id).orElseThrow(() ->
+    // Update a user. With an expected version the update is rejected with 409 unless the stored
+    // user is still at that version; without one the last write wins.
+    public User updateUser(int id, Long expectedVersion, User user) {
+        // Read through the cache, whose loads always go to the primary
+        User existingUser = userCache.findById(id).orElseThrow(() ->
                 new CustomException("User not found with ID: " + id));
 
         // Ensure the ID is preserved and don't update createdAt
@@ -72,19 +111,77 @@ public class UserService {
         }
 
         // Encode password if it is being updated
-        if (user.getPassword() != null && !user.getPassword().isEmpty()) {
+        boolean passwordChanged = user.getPassword() != null && !user.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
 
-        return userRepository.save(user);
+        // Hibernate's merge compares this with the stored version and fails on a mismatch
+        user.setVersion(expectedVersion != null ? expectedVersion : existingUser.getVersion());
+
+        // Revoke previously issued tokens when the role or password changes
+        boolean roleChanged = !user.getRole().equals(existingUser.getRole());
+        user.setTokenVersion(existingUser.getTokenVersion() + (roleChanged || passwordChanged ? 1 : 0));
+
+        User savedUser = userRepository.save(user);
+        // Drop both the old and the new email so role changes take effect immediately
+        userCache.invalidate(existingUser);
+        userCache.invalidate(savedUser);
+        return savedUser;
     }
 
-    // Delete a user
-    public void deleteUser(int id) {
-        if (!userRepository.existsById(id)) {
+    // Apply the supplied fields in one conditional UPDATE and return the new version.
+    // A new password or role revokes previously issued tokens in the same statement.
+    public long patchUser(int id, long expectedVersion, UserPatch patch) {
+        if (patch.getName() != null && (patch.getName().isBlank() || patch.getName().length() > 100)) {
+            throw new CustomException("Name must not be blank and may have at most 100 characters");
+        }
+        if (patch.getEmail() != null && (patch.getEmail().isBlank() || patch.getEmail().length() > 100)) {
+            throw new CustomException("Email must not be blank and may have at most 100 characters");
+        }
+        if (patch.getRole() != null && patch.getRole().isBlank()) {
+            throw new CustomException("Role must not be blank");
+        }
+        if (patch.getPassword() != null && patch.getPassword().isEmpty()) {
+            throw new CustomException("Password must not be empty");
+        }
+        if (patch.getName() == null && patch.getEmail() == null && patch.getRole() == null && patch.getPassword() == null) {
+            throw new CustomException("No fields to update");
+        }
+
+        // Needed to drop the cached entry under the old email afterwards
+        User existingUser = userCache.findById(id).orElseThrow(() ->
+                new CustomException("User not found with ID: " + id));
+        if (patch.getPassword() != null) {
+            patch.setPassword(passwordEncoder.encode(patch.getPassword()));
+        }
+
+        int updated;
+        try {
+            updated = patchRepository.patchUser(id, expectedVersion, patch);
+        } catch (DataIntegrityViolationException e) {
+            throw new CustomException("Email is already in use");
+        }
+        userCache.invalidate(existingUser);  // Misses are not cached, so the new email needs no eviction
+        if (updated == 0) {
+            if (!userRepository.existsById(id)) {
+                throw new CustomException("User not found with ID: " + id);
+            }
+            throw new ConflictException("User " + id + " was modified concurrently, reload and retry");
+        }
+        return expectedVersion + 1;
+    }
+
+    // Delete a user: hide them right away and remove their assignments, the tasks assigned to them
+    // and the row in the background. Repeating the request returns the running job.
+    public DeletionProgress deleteUser(int id) {
+        User existingUser = userCache.findById(id).orElse(null);
+        if (userRepository.markDeleting(id) == 0 && !cascadeDeleteService.isMarked(Target.USER, id)) {
             throw new CustomException("User not found with ID: " + id);
         }
-        userRepository.deleteById(id);
+        userCache.invalidate(existingUser);  // Tokens of deleted users stop working
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+        return cascadeDeleteService.submit(Target.USER, id);
     }
 
     // Method to register a new user with encoded password
@@ -96,30 +193,38 @@ public class UserService {
 
         // Encode the password before saving the user
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(savedUser);
+        return savedUser;
     }
 
     // Check if a user exists by email
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
 
     // Fetch user ID by email
     public int getUserIdByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
         return user.getId();
     }
 
     // Fetch user by email
     public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return userCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
 
+    // Hit/miss statistics of the user cache
+    public Map<String, Map<String, Object>> getUserCacheStats() {
+        return userCache.stats();
+    }
+
     // Fetch user details as a DTO by email
     public UserDetailsResponse getUserDetailsByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
 
         // Map User entity to UserDetailsResponse DTO
@@ -127,7 +232,8 @@ public class UserService {
                 user.getId(),
                 user.getEmail(),
                 user.getName(),
-                user.getRole() // Use the single role directly
+                user.getRole(), // Use the single role directly
+                user.getVersion()
         );
     }
 }
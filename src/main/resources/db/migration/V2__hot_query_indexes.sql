@@ -0,0 +1,29 @@
+-- Indexes and constraints behind the task, project and project-assignment lookups.
+
+-- Per-user token version checked by the stateless JWT filter
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
+
+-- TaskRepository project and assignee listings filtered by status
+CREATE INDEX idx_tasks_project_status ON tasks (project_id, status);
+CREATE INDEX idx_tasks_assignee_status ON tasks (assigned_to, status);
+
+-- ProjectRepository.findByStatus / findByCreatedBy
+CREATE INDEX idx_projects_status ON projects (status);
+CREATE INDEX idx_projects_created_by ON projects (created_by);
+
+-- Remove duplicate assignments left by the old check-then-insert race, keeping the oldest row
+DELETE FROM project_assignments
+WHERE assignment_id NOT IN (
+    SELECT keep_id FROM (
+        SELECT MIN(assignment_id) AS keep_id
+        FROM project_assignments
+        GROUP BY project_id, user_id
+    ) AS first_assignments
+);
+
+-- ProjectAssignmentRepository.existsByProjectIdAndUserId / findByProjectId (leftmost prefix)
+ALTER TABLE project_assignments
+    ADD CONSTRAINT uk_project_assignments_project_user UNIQUE (project_id, user_id);
+
+-- ProjectAssignmentRepository.findByUserId
+CREATE INDEX idx_project_assignments_user ON project_assignments (user_id);
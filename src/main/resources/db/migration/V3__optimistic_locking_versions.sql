@@ -0,0 +1,6 @@
+-- Version columns for optimistic locking (@Version on Task, Project and User).
+-- PATCH updates match on the version the client read and increment it in the same statement.
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Projects and users are first marked as deleting and hidden from reads; a background job then
+-- removes their tasks and assignments in small batches before deleting the row itself.
+
+ALTER TABLE projects ADD COLUMN deleting BIT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN deleting BIT NOT NULL DEFAULT 0;
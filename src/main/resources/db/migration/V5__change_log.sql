@@ -0,0 +1,12 @@
+-- Change log behind the delta-sync endpoint: one row per task, project and project-assignment write,
+-- deletes included as tombstones. The auto-increment seq is the sync cursor, so reading the changes
+-- after a cursor is a range scan of the primary key and costs as much as the changes returned.
+
+CREATE TABLE change_log (
+    seq         BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   INT         NOT NULL,
+    deleted     BIT         NOT NULL,
+    changed_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (seq)
+);
@@ -0,0 +1,39 @@
+package com.projectmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ReadReplicaConfig.class)
+            // Converts the Duration settings, as SpringApplication does
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:primary-" + UUID.randomUUID(),
+                    "spring.datasource.replica.url=jdbc:h2:mem:replica-" + UUID.randomUUID(),
+                    "spring.datasource.hikari.auto-commit=true",
+                    "spring.datasource.replica.hikari.auto-commit=true");
+
+    @Test
+    void bothPoolsHandOutConnectionsWithAutoCommitOff() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("primaryDataSource", HikariDataSource.class).isAutoCommit()).isFalse();
+            assertThat(context.getBean("replicaDataSource", HikariDataSource.class).isAutoCommit()).isFalse();
+            try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                assertThat(connection.getAutoCommit()).isFalse();
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.projectmanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Routes between two embedded H2 databases that each report their own name
+class ReadReplicaRoutingDataSourceTests {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void shutdown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        DataSource dataSource = routing(replica);
+
+        assertThat(servedBy(dataSource, true)).isEqualTo("replica");
+        assertThat(servedBy(dataSource, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsOfARecentWriterStayOnThePrimary() {
+        DataSource dataSource = routing(replica);
+        authenticate("alice");
+        write(dataSource);
+
+        assertThat(servedBy(dataSource, true)).isEqualTo("primary");
+        authenticate("bob");
+        assertThat(servedBy(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsThatOnlyReadDoNotCountAsWrites() {
+        DataSource dataSource = routing(replica);
+        authenticate("alice");
+
+        assertThat(servedBy(dataSource, false)).isEqualTo("primary");
+        assertThat(servedBy(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writesRegisterOneSynchronizationPerTransaction() {
+        DataSource dataSource = routing(replica);
+        authenticate("alice");
+
+        int synchronizations = new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("UPDATE node SET name = name");
+            jdbcTemplate.batchUpdate("UPDATE node SET name = name", "UPDATE node SET name = name");
+            return TransactionSynchronizationManager.getSynchronizations().size();
+        });
+        assertThat(synchronizations).isEqualTo(1);
+        assertThat(servedBy(dataSource, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void rolledBackWritesDoNotCount() {
+        DataSource dataSource = routing(replica);
+        authenticate("alice");
+
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+        assertThat(servedBy(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToThePrimary() {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://127.0.0.1:1/unreachable", "sa", "");
+        DataSource dataSource = routing(unreachable);
+
+        assertThat(servedBy(dataSource, true)).isEqualTo("primary");
+        assertThat(servedBy(dataSource, true)).isEqualTo("primary");
+    }
+
+    private DataSource routing(DataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                primary, replicaDataSource, Duration.ofMinutes(1), Duration.ofMinutes(1)));
+    }
+
+    private static String servedBy(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void write(DataSource dataSource) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status ->
+                new JdbcTemplate(dataSource).update("UPDATE node SET name = name"));
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, List.of()));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE node (name VARCHAR(20))");
+        new JdbcTemplate(database).update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
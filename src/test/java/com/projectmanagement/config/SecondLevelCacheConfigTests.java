@@ -0,0 +1,24 @@
+package com.projectmanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecondLevelCacheConfigTests {
+
+    // As when two application contexts run in the same JVM
+    @Test
+    void everyContextGetsRegionsOfItsOwn() {
+        SecondLevelCacheConfig config = new SecondLevelCacheConfig();
+        try (CacheManager first = config.hibernateCacheManager(10, Duration.ofMinutes(1), 10, Duration.ofMinutes(1));
+             CacheManager second = config.hibernateCacheManager(10, Duration.ofMinutes(1), 10, Duration.ofMinutes(1))) {
+            first.getCache(SecondLevelCacheConfig.PROJECTS_REGION).put(1, "cached");
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getCache(SecondLevelCacheConfig.PROJECTS_REGION).get(1)).isNull();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTests {
+
+    @Test
+    void ifMatchCarriesTheResourceVersion() {
+        assertThat(ETags.parseVersion("\"7\"")).isEqualTo(7);
+        assertThat(ETags.parseVersion(" W/\"7\" ")).isEqualTo(7);
+        assertThat(ETags.parseVersion("7")).isEqualTo(7);
+        assertThat(ETags.parseVersion(ETags.of(7, 2, 5))).isEqualTo(7);  // Tag of a view
+        assertThat(ETags.parseVersionIfPresent(null)).isNull();
+        assertThat(ETags.parseVersionIfPresent(" ")).isNull();
+    }
+
+    @Test
+    void malformedIfMatchIsRejected() {
+        assertThatThrownBy(() -> ETags.parseVersion(null)).isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> ETags.parseVersion("\"abc\"")).isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> ETags.parseVersion("*")).isInstanceOf(CustomException.class);
+    }
+}
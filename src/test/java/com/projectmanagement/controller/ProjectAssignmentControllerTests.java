@@ -0,0 +1,74 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.MembershipSyncResult;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.ChangeLogRepository;
+import com.projectmanagement.repository.ProjectMembershipRepository;
+import com.projectmanagement.service.BatchWriter;
+import com.projectmanagement.service.ChangeLogService;
+import com.projectmanagement.service.ProjectAssignmentService;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Calls the controller through its @PreAuthorize checks with the authorities the JWT filter grants
+@Import({ProjectAssignmentController.class, ProjectAssignmentService.class, ProjectMembershipRepository.class,
+        BulkInsertRepository.class, BatchWriter.class, ChangeLogService.class, ChangeLogRepository.class,
+        ProjectAssignmentControllerTests.MethodSecurity.class})
+class ProjectAssignmentControllerTests extends DataJpaTestSupport {
+
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
+    @Autowired
+    private ProjectAssignmentController projectAssignmentController;
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void adminsCanAssignAndSyncMembers() {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project project = saveProject(alice);
+
+        ProjectAssignment assignment = new ProjectAssignment();
+        assignment.setProjectId(project.getId());
+        assignment.setUserId(alice.getId());
+        assertThat(projectAssignmentController.assignUserToProject(assignment).getAssignmentId()).isPositive();
+
+        ProjectAssignment bulk = new ProjectAssignment();
+        bulk.setProjectId(project.getId());
+        bulk.setUserId(bob.getId());
+        assertThat(projectAssignmentController.assignUsersToProjects(List.of(bulk)).getCreated()).isEqualTo(1);
+
+        MembershipSyncResult result = projectAssignmentController.setProjectMembers(project.getId(), List.of(bob.getId()));
+        assertThat(result.getAdded()).isEmpty();
+        assertThat(result.getRemoved()).containsExactly(alice.getId());
+        assertThat(result.getUnchanged()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_USER")
+    void usersCannotChangeMembers() {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice);
+
+        assertThatThrownBy(() -> projectAssignmentController.setProjectMembers(project.getId(), List.of(alice.getId())))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(projectAssignmentRepository.findUserIdsByProjectId(project.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package com.projectmanagement.pagination;
+
+import com.projectmanagement.exception.CustomException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTests {
+
+    private static final SortKeys SORT_KEYS = SortKeys.of("id", "name", "createdAt", "updatedAt", "size");
+
+    @Test
+    void keysetCursorsRoundTripWithTheirKeyTypes() {
+        Timestamp createdAt = new Timestamp(1_700_000_000_123L);
+        createdAt.setNanos(123_456_789);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "alpha");
+        keys.put("createdAt", createdAt);
+        keys.put("updatedAt", new Date(1_700_000_000_000L));
+        keys.put("size", 42L);
+        keys.put("id", 7);
+        Sort sort = Sort.by(Sort.Order.asc("name"), Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+
+        CursorCodec.Cursor cursor = CursorCodec.decode(CursorCodec.encode(ScrollPosition.forward(keys), sort), SORT_KEYS);
+
+        assertThat(cursor.sort()).isEqualTo(sort);
+        assertThat(cursor.position()).isInstanceOf(KeysetScrollPosition.class);
+        Map<String, Object> decoded = ((KeysetScrollPosition) cursor.position()).getKeys();
+        assertThat(decoded).isEqualTo(keys);
+        assertThat(decoded.get("createdAt")).isInstanceOf(Timestamp.class);
+        assertThat(((Timestamp) decoded.get("createdAt")).getNanos()).isEqualTo(123_456_789);
+        assertThat(decoded.get("size")).isInstanceOf(Long.class);
+    }
+
+    @Test
+    void offsetCursorsRoundTrip() {
+        Sort sort = Sort.by("id");
+
+        CursorCodec.Cursor cursor = CursorCodec.decode(CursorCodec.encode(ScrollPosition.offset(40), sort), SORT_KEYS);
+
+        assertThat(cursor.position()).isEqualTo(ScrollPosition.offset(40));
+        assertThat(cursor.sort()).isEqualTo(sort);
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        String cursor = CursorCodec.encode(ScrollPosition.forward(Map.of("id", 7)), Sort.by("id"));
+        String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+        // Sorting or seeking on a property that is not sortable
+        assertInvalid(encode(json.replace("\"id:", "\"password:")));
+        assertInvalid(encode(json.replace("{\"id\":", "{\"password\":")));
+        // Unknown direction, key type or shape
+        assertInvalid(encode(json.replace(":ASC", ":SIDEWAYS")));
+        assertInvalid(encode(json.replace("[\"i\"", "[\"x\"")));
+        assertInvalid(encode("{\"sort\":[\"id:ASC\"],\"keys\":{}}"));
+        // Not a cursor at all
+        assertInvalid("not a cursor!");
+        assertInvalid(encode("[1, 2"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, SORT_KEYS))
+                .isInstanceOf(CustomException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.TaskFilter;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(CollectionVersionRepository.class)
+class CollectionVersionRepositoryTests extends DataJpaTestSupport {
+
+    @Autowired
+    private CollectionVersionRepository collectionVersionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void versionsChangeWithEveryWriteToTheCollection() {
+        User user = saveUser("user");
+        Project project = saveProject(user);
+        CollectionVersion initial = collectionVersionRepository.projectsByCreator(user.getId());
+        assertThat(initial.count()).isEqualTo(1);
+        assertThat(collectionVersionRepository.projectsByCreator(user.getId())).isEqualTo(initial);
+
+        Project other = saveProject(user);
+        CollectionVersion inserted = collectionVersionRepository.projectsByCreator(user.getId());
+        assertThat(inserted).isNotEqualTo(initial);
+
+        project.setDescription("changed");
+        entityManager.flush();
+        CollectionVersion updated = collectionVersionRepository.projectsByCreator(user.getId());
+        assertThat(updated.versionSum()).isGreaterThan(inserted.versionSum());
+
+        // Projects being deleted are no longer listed, so they no longer count either
+        projectRepository.markDeleting(other.getId());
+        entityManager.clear();
+        assertThat(collectionVersionRepository.projectsByCreator(user.getId()).count()).isEqualTo(1);
+    }
+
+    @Test
+    void taskVersionFollowsTheEmbeddedProject() {
+        User user = saveUser("user");
+        Project project = saveProject(user);
+        saveTask(project, user);
+
+        TaskFilter filter = new TaskFilter();
+        filter.setProjectId(project.getId());
+        CollectionVersion before = collectionVersionRepository.tasks(TaskSpecifications.matching(filter));
+        assertThat(before.count()).isEqualTo(1);
+
+        // Renaming the project changes the listed task views without touching the task
+        project.setProjectName("renamed");
+        entityManager.flush();
+        assertThat(collectionVersionRepository.tasks(TaskSpecifications.matching(filter))).isNotEqualTo(before);
+    }
+}
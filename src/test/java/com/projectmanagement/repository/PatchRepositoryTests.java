@@ -0,0 +1,89 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.ProjectPatch;
+import com.projectmanagement.payload.UserPatch;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(PatchRepository.class)
+class PatchRepositoryTests extends DataJpaTestSupport {
+
+    @Autowired
+    private PatchRepository patchRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void onlyTheSuppliedFieldsChangeAndTheVersionIsIncremented() {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice, "Apollo");
+        project.setDescription("Moon");
+        project = projectRepository.saveAndFlush(project);
+        long version = project.getVersion();
+
+        ProjectPatch patch = new ProjectPatch();
+        patch.setStatus("DONE");
+        assertThat(patchRepository.patchProject(project.getId(), version, patch)).isEqualTo(1);
+
+        Project patched = reload(Project.class, project.getId());
+        assertThat(patched.getStatus()).isEqualTo("DONE");
+        assertThat(patched.getProjectName()).isEqualTo("Apollo");
+        assertThat(patched.getDescription()).isEqualTo("Moon");
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void staleVersionsAndMissingRowsUpdateNothing() {
+        User alice = saveUser("alice");
+        Project project = projectRepository.saveAndFlush(saveProject(alice, "Apollo"));
+        ProjectPatch patch = new ProjectPatch();
+        patch.setProjectName("Gemini");
+
+        assertThat(patchRepository.patchProject(project.getId(), project.getVersion() + 1, patch)).isZero();
+        assertThat(patchRepository.patchProject(Integer.MAX_VALUE, 0, patch)).isZero();
+        assertThat(reload(Project.class, project.getId()).getProjectName()).isEqualTo("Apollo");
+    }
+
+    @Test
+    void roleAndPasswordChangesRevokeIssuedTokens() {
+        User alice = userRepository.saveAndFlush(saveUser("alice"));
+        long version = alice.getVersion();
+
+        // Same role: tokens stay valid
+        assertThat(patchRepository.patchUser(alice.getId(), version++, role("USER"))).isEqualTo(1);
+        assertThat(reload(User.class, alice.getId()).getTokenVersion()).isZero();
+
+        assertThat(patchRepository.patchUser(alice.getId(), version++, role("ADMIN"))).isEqualTo(1);
+        User promoted = reload(User.class, alice.getId());
+        assertThat(promoted.getRole()).isEqualTo("ADMIN");
+        assertThat(promoted.getTokenVersion()).isEqualTo(1);
+
+        UserPatch password = new UserPatch();
+        password.setPassword("encoded");
+        assertThat(patchRepository.patchUser(alice.getId(), version++, password)).isEqualTo(1);
+        User updated = reload(User.class, alice.getId());
+        assertThat(updated.getPassword()).isEqualTo("encoded");
+        assertThat(updated.getTokenVersion()).isEqualTo(2);
+        assertThat(updated.getVersion()).isEqualTo(version);
+    }
+
+    // The UPDATE bypasses the persistence context, so read the row again
+    private <T> T reload(Class<T> type, int id) {
+        entityManager.clear();
+        return entityManager.find(type, id);
+    }
+
+    private static UserPatch role(String role) {
+        UserPatch patch = new UserPatch();
+        patch.setRole(role);
+        return patch;
+    }
+}
@@ -0,0 +1,62 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.TaskFilter;
+import com.projectmanagement.support.DataJpaTestSupport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskRepositoryTests extends DataJpaTestSupport {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listingTasksUsesOneStatementRegardlessOfTaskCount() {
+        assertThat(statementsToList(5)).isEqualTo(1);
+        assertThat(statementsToList(40)).isEqualTo(1);
+    }
+
+    // Persist tasks spread over distinct projects and assignees, then count statements for one page
+    private long statementsToList(int taskCount) {
+        for (int i = 0; i < taskCount; i++) {
+            User user = saveUser("user" + i);
+            saveTask(saveProject(user, "project" + i), user, "task" + i, "TODO");
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Statistics are enabled by application.properties for the cache hit ratios
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Specification<Task> specification = TaskSpecifications.matching(new TaskFilter())
+                .and(TaskSpecifications.fetchProjectAndAssignee());
+        List<TaskView> views = taskRepository.findBy(specification, query -> query
+                        .sortBy(Sort.by("id"))
+                        .limit(100)
+                        .scroll(ScrollPosition.keyset()))
+                .map(TaskView::from)
+                .getContent();
+
+        assertThat(views).hasSizeGreaterThanOrEqualTo(taskCount);
+        assertThat(views).allSatisfy(view -> assertThat(view.getProjectName()).isNotNull());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,73 @@
+package com.projectmanagement.search;
+
+import com.projectmanagement.dto.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTests {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = new SearchIndex();
+        index.putProject(1, "Website redesign", "New design system and landing pages");
+        index.putProject(2, "Mobile app", "Release the iOS and Android app");
+        index.putTask(10, "Design review", 1, 100);
+        index.putTask(11, "Release notes", 2, 101);
+        index.putTask(12, "Write landing page copy", 1, 101);
+    }
+
+    @Test
+    void everyTermMustMatchAndNameMatchesRankFirst() {
+        assertThat(ids(index.search("design", null, 10))).containsExactly(10, 1);
+        assertThat(ids(index.search("landing design", null, 10))).containsExactly(1);
+        assertThat(index.search("landing unknown", null, 10)).isEmpty();
+    }
+
+    @Test
+    void prefixTermsAndTypeFilter() {
+        assertThat(ids(index.search("rele*", null, 10))).containsExactlyInAnyOrder(11, 2);
+        assertThat(ids(index.search("rele*", SearchIndex.Type.TASK, 10))).containsExactly(11);
+        assertThat(ids(index.search("RELE*", SearchIndex.Type.PROJECT, 1))).containsExactly(2);
+    }
+
+    @Test
+    void updatesReplaceTheOldTerms() {
+        index.patchTask(10, "Accessibility audit", null, null);
+        index.patchProject(2, null, "Ship the tablet version");
+
+        assertThat(ids(index.search("design", SearchIndex.Type.TASK, 10))).isEmpty();
+        assertThat(ids(index.search("accessibility", null, 10))).containsExactly(10);
+        assertThat(ids(index.search("tablet mobile", null, 10))).containsExactly(2);
+        assertThat(index.search("android", null, 10)).isEmpty();
+    }
+
+    @Test
+    void removingAProjectOrUserRemovesTheirTasks() {
+        index.removeProject(1);
+        assertThat(ids(index.search("design", null, 10))).isEmpty();
+        assertThat(ids(index.search("page*", null, 10))).isEmpty();
+
+        index.removeTasksAssignedTo(101);
+        assertThat(ids(index.search("release", null, 10))).containsExactly(2);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void partsOfARebuildCanBeCombined() {
+        SearchIndex other = new SearchIndex();
+        other.putTask(13, "Design tokens", 1, 100);
+        index.addAll(other);
+
+        assertThat(ids(index.search("design", SearchIndex.Type.TASK, 10))).containsExactlyInAnyOrder(10, 13);
+    }
+
+    private static List<Integer> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getId).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.exception.GlobalExceptionHandler;
+import com.projectmanagement.exception.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// One hashing thread and a one-slot queue, as configured by PasswordEncodingConfig but smaller
+class BoundedPasswordEncoderTests {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        callers.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void callsFailFastWhenTheQueueIsFull() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(), executor, Duration.ofSeconds(10));
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        while (executor.getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.matches("third", "hash:third"))
+                .isInstanceOf(PasswordHashingUnavailableException.class)
+                .hasMessageContaining("capacity exhausted");
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+
+    @Test
+    void callsGiveUpAfterTheTimeout() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(), executor, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> encoder.encode("first"))
+                .isInstanceOf(PasswordHashingUnavailableException.class)
+                .hasMessageContaining("timed out");
+    }
+
+    @Test
+    void unavailableHashingIsAnsweredWith503() {
+        ResponseEntity<String> response = new GlobalExceptionHandler()
+                .handlePasswordHashingUnavailable(new PasswordHashingUnavailableException("Password hashing capacity exhausted, retry later"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    // Hashes by prefixing, holding every call until released
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hold();
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private void hold() {
+        hashing.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.service.CustomUserDetailsService;
+import com.projectmanagement.service.UserCache;
+import com.projectmanagement.support.NoOpTransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Stateless mode: the principal comes from the token claims, only the token version is looked up
+class JwtAuthenticationFilterTests {
+
+    private final AtomicReference<User> stored = new AtomicReference<>(user(0));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final UserCache userCache = new UserCache(repository(), new NoOpTransactionManager(), 100, Duration.ofMinutes(5));
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil,
+            new CustomUserDetailsService(userCache, repository()), new TokenVersionRegistry(userCache));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "abcdefghijklmnopqrstuvwxyz123456");
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100L);
+        jwtUtil.init();
+        ReflectionTestUtils.setField(filter, "statelessEnabled", true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokensAuthenticateFromTheirClaimsWithCachedVersionChecks() throws Exception {
+        String token = token("ROLE_ADMIN", 0);
+
+        Authentication authentication = authenticate(token);
+        assertThat(authentication.getName()).isEqualTo("alice@example.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        assertThat(authenticate(token)).isNotNull();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void bumpingTheTokenVersionRevokesTokensIssuedBefore() throws Exception {
+        String issuedBefore = token("ROLE_USER", 0);
+        assertThat(authenticate(issuedBefore)).isNotNull();
+
+        // As on a role or password change
+        User before = stored.getAndSet(user(1));
+        userCache.invalidate(before);
+
+        assertThat(authenticate(issuedBefore)).isNull();
+        assertThat(authenticate(token("ROLE_USER", 1))).isNotNull();
+    }
+
+    @Test
+    void tokensOfDeletedUsersAreRejected() throws Exception {
+        String token = token("ROLE_USER", 0);
+        User before = stored.getAndSet(null);
+        userCache.invalidate(before);
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    // Runs the filter for a request carrying the token and returns the authentication it set
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(chain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String token(String role, int tokenVersion) {
+        return jwtUtil.generateToken(new AuthenticatedUser("alice@example.com", "",
+                List.of(new SimpleGrantedAuthority(role)), tokenVersion));
+    }
+
+    private UserRepository repository() {
+        return (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail" -> {
+                        loads.incrementAndGet();
+                        yield Optional.ofNullable(stored.get()).filter(user -> user.getEmail().equals(args[0]));
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static User user(int tokenVersion) {
+        User user = new User();
+        user.setId(1);
+        user.setName("Alice");
+        user.setEmail("alice@example.com");
+        user.setRole("USER");
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
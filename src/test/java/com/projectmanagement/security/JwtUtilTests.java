@@ -0,0 +1,79 @@
+package com.projectmanagement.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+
+    private static final String SECRET = "abcdefghijklmnopqrstuvwxyz123456";
+
+    private final JwtUtil jwtUtil = jwtUtil(SECRET);
+
+    @Test
+    void verifiedTokensAreServedFromTheCache() {
+        String token = jwtUtil.generateToken(new AuthenticatedUser("alice@example.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), 3));
+
+        VerifiedToken verified = jwtUtil.verifyToken(token);
+        assertThat(verified.subject()).isEqualTo("alice@example.com");
+        assertThat(verified.role()).isEqualTo("ROLE_ADMIN");
+        assertThat(verified.tokenVersion()).isEqualTo(3);
+        assertThat(jwtUtil.verifyToken(token)).isSameAs(verified);
+    }
+
+    @Test
+    void cachedTokensStopBeingAcceptedWhenTheyExpire() throws InterruptedException {
+        // JWT expiry has second precision, so expire at the start of a coming second
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 2) * 1000);
+        String token = Jwts.builder()
+                .setSubject("alice@example.com")
+                .claim("role", "ROLE_USER")
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertThat(jwtUtil.verifyToken(token).tokenVersion()).isZero();  // Issued before versioning
+
+        Thread.sleep(expiration.getTime() - System.currentTimeMillis() + 50);
+        assertThatThrownBy(() -> jwtUtil.verifyToken(token)).hasMessage("Token has expired");
+    }
+
+    @Test
+    void changingAReturnedExpirationDoesNotAffectTheCachedToken() {
+        String token = jwtUtil.generateToken(new AuthenticatedUser("alice@example.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 0));
+
+        Date expiration = jwtUtil.extractExpiration(token);
+        long expiresAt = expiration.getTime();
+        expiration.setTime(0);
+
+        assertThat(jwtUtil.extractExpiration(token).getTime()).isEqualTo(expiresAt);
+        assertThat(jwtUtil.verifyToken(token).subject()).isEqualTo("alice@example.com");
+    }
+
+    @Test
+    void tokensSignedWithAnotherKeyAreRejected() {
+        String token = jwtUtil("zyxwvutsrqponmlkjihgfedcba654321").generateToken(new AuthenticatedUser("alice@example.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), 0));
+
+        assertThatThrownBy(() -> jwtUtil.verifyToken(token)).hasMessage("Token parsing failed");
+    }
+
+    private static JwtUtil jwtUtil(String secret) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", secret);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,64 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.exception.GlobalExceptionHandler;
+import com.projectmanagement.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LoginRateLimiterTests {
+
+    // 2 attempts per account a minute, 3 per client every 10 seconds
+    private final LoginRateLimiter limiter = new LoginRateLimiter(2, Duration.ofMinutes(1), 3, Duration.ofSeconds(10),
+            Duration.ofMinutes(15), 1000);
+
+    @Test
+    void accountsAreThrottledWhateverTheirCase() {
+        limiter.acquire("alice@example.com", "10.0.0.1");
+        limiter.acquire(" Alice@Example.com", "10.0.0.2");
+
+        TooManyRequestsException e = catchThrowableOfType(() -> limiter.acquire("ALICE@example.com", "10.0.0.3"),
+                TooManyRequestsException.class);
+        assertThat(e.getRetryAfterSeconds()).isBetween(1L, 60L);
+        assertThatCode(() -> limiter.acquire("bob@example.com", "10.0.0.3")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void clientsAreThrottledAcrossAccounts() {
+        limiter.acquire("alice@example.com", "10.0.0.1");
+        limiter.acquire("bob@example.com", "10.0.0.1");
+        limiter.acquire("carol@example.com", "10.0.0.1");
+
+        TooManyRequestsException e = catchThrowableOfType(() -> limiter.acquire("dave@example.com", "10.0.0.1"),
+                TooManyRequestsException.class);
+        assertThat(e.getRetryAfterSeconds()).isBetween(1L, 10L);
+        assertThatCode(() -> limiter.acquire("dave@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void attemptsOnALockedOutAccountDoNotUseUpTheClientBucket() {
+        limiter.acquire("alice@example.com", "10.0.0.1");
+        limiter.acquire("alice@example.com", "10.0.0.1");
+        for (int i = 0; i < 5; i++) {
+            catchThrowableOfType(() -> limiter.acquire("alice@example.com", "10.0.0.1"), TooManyRequestsException.class);
+        }
+
+        assertThatCode(() -> limiter.acquire("bob@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void throttledAttemptsAreAnsweredWith429AndRetryAfter() {
+        ResponseEntity<String> response = new GlobalExceptionHandler()
+                .handleTooManyRequests(new TooManyRequestsException("Too many attempts, retry later", 30));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+    }
+}
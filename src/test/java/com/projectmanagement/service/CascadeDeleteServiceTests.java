@@ -0,0 +1,96 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.DeletionProgress;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.CascadeDeleteRepository;
+import com.projectmanagement.repository.CascadeDeleteRepository.Target;
+import com.projectmanagement.repository.ChangeLogRepository;
+import com.projectmanagement.repository.ProjectQueryCache;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction: the job's batches commit on their own thread
+@TestPropertySource(properties = "deletion.batch-size=2")
+@Import({CascadeDeleteService.class, CascadeDeleteRepository.class, ChangeLogService.class, ChangeLogRepository.class,
+        ProjectQueryCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CascadeDeleteServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private CascadeDeleteService cascadeDeleteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void markedProjectIsHiddenAndRemovedWithItsTasksInBatches() throws InterruptedException {
+        User user = saveUser("owner");
+        Project project = saveProject(user);
+        for (int i = 0; i < 5; i++) {
+            saveTask(project, user);
+        }
+        saveAssignment(project, user);
+
+        assertThat(projectRepository.markDeleting(project.getId())).isEqualTo(1);
+        assertThat(projectRepository.findById(project.getId())).isEmpty();
+        assertThat(projectRepository.markDeleting(project.getId())).isZero();
+        int taskTombstones = tombstones("TASK");
+
+        DeletionProgress progress = awaitFinished(cascadeDeleteService.submit(Target.PROJECT, project.getId()));
+
+        assertThat(progress.getState()).isEqualTo(DeletionProgress.State.COMPLETED);
+        assertThat(progress.getTasksDeleted()).isEqualTo(5);
+        assertThat(progress.getAssignmentsDeleted()).isEqualTo(1);
+        assertThat(progress.getBatches()).isEqualTo(4);  // 2 + 2 + 1 tasks and one assignment batch
+        assertThat(rows("projects", "project_id", project.getId())).isZero();
+        assertThat(userRepository.findById(user.getId())).isPresent();
+        // Every removed row leaves a tombstone for delta sync
+        assertThat(tombstones("TASK")).isEqualTo(taskTombstones + 5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_log WHERE entity_type = 'PROJECT'"
+                + " AND entity_id = ? AND deleted = TRUE", Integer.class, project.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void markedUserIsRemovedWithTheTasksAssignedToThem() throws InterruptedException {
+        User owner = saveUser("keeper");
+        User leaving = saveUser("leaving");
+        Project project = saveProject(owner);
+        saveTask(project, leaving);
+        saveTask(project, owner);
+
+        assertThat(userRepository.markDeleting(leaving.getId())).isEqualTo(1);
+        assertThat(userRepository.findByEmail(leaving.getEmail())).isEmpty();
+
+        DeletionProgress progress = awaitFinished(cascadeDeleteService.submit(Target.USER, leaving.getId()));
+
+        assertThat(progress.getState()).isEqualTo(DeletionProgress.State.COMPLETED);
+        assertThat(progress.getTasksDeleted()).isEqualTo(1);
+        assertThat(rows("users", "user_id", leaving.getId())).isZero();
+        assertThat(rows("tasks", "project_id", project.getId())).isEqualTo(1);
+    }
+
+    private DeletionProgress awaitFinished(DeletionProgress progress) throws InterruptedException {
+        for (int i = 0; i < 500 && !progress.isFinished(); i++) {
+            Thread.sleep(10);
+        }
+        return progress;
+    }
+
+    private int rows(String table, String column, int id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, id);
+    }
+
+    private int tombstones(String type) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_log WHERE entity_type = ? AND deleted = TRUE",
+                Integer.class, type);
+    }
+}
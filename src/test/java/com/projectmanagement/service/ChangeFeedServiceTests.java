@@ -0,0 +1,204 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.ChangeType;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.event.UserDeletedEvent;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction: patched tasks are looked up on the feed's own thread
+@TestPropertySource(properties = "feed.buffer-size=4")
+@Import(ChangeFeedService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeFeedServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void subscribersOnlyReceiveChangesInTheirScope() throws InterruptedException {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project project = saveProject(alice);
+        Project other = saveProject(alice);
+        int subscribers = changeFeedService.getSubscriberCount();
+        RecordingEmitter projectFeed = subscribe(ChangeFeedService.Scope.PROJECT, project.getId(), new CountDownLatch(0));
+        RecordingEmitter otherFeed = subscribe(ChangeFeedService.Scope.PROJECT, other.getId(), new CountDownLatch(0));
+        RecordingEmitter aliceFeed = subscribe(ChangeFeedService.Scope.USER, alice.getId(), new CountDownLatch(0));
+        RecordingEmitter bobFeed = subscribe(ChangeFeedService.Scope.USER, bob.getId(), new CountDownLatch(0));
+
+        Task task = saveTask(project, alice);
+        changeFeedService.onTaskChanged(TaskChangedEvent.created(task));
+        // Status only: the project and assignee are read from the task
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus("DONE");
+        changeFeedService.onTaskChanged(TaskChangedEvent.patched(task.getId(), null, patch));
+        assertThat(projectFeed.next()).isEqualTo("subscribed");
+        assertThat(projectFeed.next()).isEqualTo("task");
+        assertThat(projectFeed.next()).isEqualTo("task");
+
+        // Deleting the project ends its streams
+        changeFeedService.onProjectChanged(ProjectChangedEvent.deleted(project.getId()));
+        assertThat(projectFeed.next()).isEqualTo("project");
+        assertThat(projectFeed.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(aliceFeed.next()).isEqualTo("subscribed");
+        assertThat(aliceFeed.next()).isEqualTo("task");
+        assertThat(aliceFeed.next()).isEqualTo("task");
+        assertThat(aliceFeed.next()).isEqualTo("reload");  // Alice had a task in the deleted project
+
+        changeFeedService.sendHeartbeats();
+        assertThat(otherFeed.next()).isEqualTo("subscribed");
+        assertThat(otherFeed.next()).isEqualTo("heartbeat");
+        assertThat(bobFeed.next()).isEqualTo("subscribed");
+        assertThat(bobFeed.next()).isEqualTo("heartbeat");
+        assertThat(changeFeedService.getSubscriberCount()).isEqualTo(subscribers + 3);
+    }
+
+    @Test
+    void eventsAfterAPatchWaitForItsLookup() throws InterruptedException {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice);
+        RecordingEmitter projectFeed = subscribe(ChangeFeedService.Scope.PROJECT, project.getId(), new CountDownLatch(0));
+        Task task = saveTask(project, alice);
+
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus("DONE");
+        changeFeedService.onTaskChanged(TaskChangedEvent.patched(task.getId(), null, patch));
+        changeFeedService.onTaskChanged(TaskChangedEvent.deleted(task));
+
+        assertThat(projectFeed.next()).isEqualTo("subscribed");
+        assertThat(projectFeed.next()).isEqualTo("task");
+        assertThat(projectFeed.next()).isEqualTo("task");
+        assertThat(projectFeed.changes).containsExactly(ChangeType.PATCHED, ChangeType.DELETED);
+    }
+
+    @Test
+    void deletingAUserEndsTheirStreamsAndReloadsTheirProjects() throws InterruptedException {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project project = saveProject(alice);
+        Project other = saveProject(alice);
+        saveTask(project, bob);
+        RecordingEmitter projectFeed = subscribe(ChangeFeedService.Scope.PROJECT, project.getId(), new CountDownLatch(0));
+        RecordingEmitter otherFeed = subscribe(ChangeFeedService.Scope.PROJECT, other.getId(), new CountDownLatch(0));
+        RecordingEmitter bobFeed = subscribe(ChangeFeedService.Scope.USER, bob.getId(), new CountDownLatch(0));
+
+        changeFeedService.onUserDeleted(new UserDeletedEvent(bob.getId()));
+        assertThat(bobFeed.next()).isEqualTo("subscribed");
+        assertThat(bobFeed.next()).isEqualTo("deleted");
+        assertThat(bobFeed.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(projectFeed.next()).isEqualTo("subscribed");
+        assertThat(projectFeed.next()).isEqualTo("reload");
+
+        changeFeedService.sendHeartbeats();
+        assertThat(otherFeed.next()).isEqualTo("subscribed");
+        assertThat(otherFeed.next()).isEqualTo("heartbeat");
+    }
+
+    @Test
+    void deletingAProjectReloadsTheFeedsOfItsAssignees() throws InterruptedException {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project project = saveProject(alice);
+        saveTask(project, bob);
+        RecordingEmitter aliceFeed = subscribe(ChangeFeedService.Scope.USER, alice.getId(), new CountDownLatch(0));
+        RecordingEmitter bobFeed = subscribe(ChangeFeedService.Scope.USER, bob.getId(), new CountDownLatch(0));
+
+        changeFeedService.onProjectChanged(ProjectChangedEvent.deleted(project.getId()));
+        assertThat(bobFeed.next()).isEqualTo("subscribed");
+        assertThat(bobFeed.next()).isEqualTo("reload");
+
+        changeFeedService.sendHeartbeats();
+        assertThat(aliceFeed.next()).isEqualTo("subscribed");
+        assertThat(aliceFeed.next()).isEqualTo("heartbeat");
+    }
+
+    @Test
+    void slowSubscriberIsEvictedWhenItsBufferOverflows() throws InterruptedException {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice);
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingEmitter slowFeed = subscribe(ChangeFeedService.Scope.PROJECT, project.getId(), stalled);
+        int subscribers = changeFeedService.getSubscriberCount();
+
+        // The delivery thread blocks on the first write, the events after it fill the buffer
+        for (int i = 0; i < 10; i++) {
+            changeFeedService.onProjectChanged(ProjectChangedEvent.updated(project));
+        }
+        assertThat(changeFeedService.getSubscriberCount()).isEqualTo(subscribers - 1);
+        stalled.countDown();
+
+        List<String> received = new ArrayList<>();
+        String event;
+        while (!"evicted".equals(event = slowFeed.next())) {
+            received.add(event);
+        }
+        assertThat(received.size()).isLessThan(10);
+        assertThat(slowFeed.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private RecordingEmitter subscribe(ChangeFeedService.Scope scope, int key, CountDownLatch released) {
+        RecordingEmitter emitter = new RecordingEmitter(released);
+        changeFeedService.subscribe(scope, key, emitter);
+        return emitter;
+    }
+
+    // Records the name of every event sent (the text of comments) and the kind of task changes; writes wait until released
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final List<ChangeType> changes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch released;
+
+        RecordingEmitter(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // The first part is the text before the data: "event:<name>" or ":<comment>"
+            List<DataWithMediaType> parts = new ArrayList<>(builder.build());
+            if (parts.size() > 1 && parts.get(1).getData() instanceof TaskChangedEvent change) {
+                changes.add(change.change());
+            }
+            String frame = (String) parts.get(0).getData();
+            events.add(frame.startsWith("event:") ? frame.substring(6, frame.indexOf('\n'))
+                    : frame.substring(1, frame.indexOf('\n')));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            return events.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
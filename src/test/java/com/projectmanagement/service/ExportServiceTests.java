@@ -0,0 +1,86 @@
+package com.projectmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectmanagement.export.ExportFormat;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.ExportRepository;
+import com.projectmanagement.support.DataJpaTestSupport;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({ExportService.class, ExportRepository.class, JacksonAutoConfiguration.class})
+class ExportServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void tasksAreExportedAsCsvWithQuotedFields() throws Exception {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice, "Launch, phase \"1\"");
+        saveTask(project, alice, "Write\nrelease notes", "TODO");
+        saveTask(project, alice, "Ship", "TODO");
+
+        String csv = export(ExportFormat.CSV, "tasks");
+
+        String[] lines = csv.split("\r\n", -1);
+        assertThat(lines[0]).isEqualTo("id,taskName,status,createdAt,projectId,projectName,assigneeId,assigneeName,version");
+        assertThat(csv).contains(",\"Write\nrelease notes\",TODO,");
+        assertThat(csv).contains(",\"Launch, phase \"\"1\"\"\"," + alice.getId() + ",alice,");
+        assertThat(csv).endsWith("\r\n");
+    }
+
+    @Test
+    void rowsOfProjectsAndUsersBeingDeletedAreLeftOut() throws Exception {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project kept = saveProject(alice, "kept");
+        Project deleted = saveProject(alice, "deleted");
+        saveAssignment(kept, alice);
+        saveAssignment(kept, bob);
+        saveAssignment(deleted, alice);
+        projectRepository.markDeleting(deleted.getId());
+        userRepository.markDeleting(bob.getId());
+        entityManager.clear();
+
+        String[] projects = export(ExportFormat.NDJSON, "projects").split("\n");
+        assertThat(projects).hasSize(1);
+        JsonNode project = objectMapper.readTree(projects[0]);
+        assertThat(project.get("id").asInt()).isEqualTo(kept.getId());
+        assertThat(project.get("projectName").asText()).isEqualTo("kept");
+        assertThat(project.get("createdAt").asText()).endsWith("Z");
+
+        String[] assignments = export(ExportFormat.NDJSON, "assignments").split("\n");
+        assertThat(assignments).hasSize(1);
+        assertThat(objectMapper.readTree(assignments[0]).get("userId").asInt()).isEqualTo(alice.getId());
+        // Exported entities are not left behind in the persistence context
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private String export(ExportFormat format, String type) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        switch (type) {
+            case "tasks" -> exportService.exportTasks(format, out);
+            case "projects" -> exportService.exportProjects(format, out);
+            default -> exportService.exportAssignments(format, out);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,98 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.ImportProgress;
+import com.projectmanagement.export.ExportFormat;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.ProjectQueryCache;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction: the import commits its chunks on its own thread
+@TestPropertySource(properties = "import.batch-size=2")
+@Import({ImportService.class, BatchWriter.class, BulkInsertRepository.class, ProjectQueryCache.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void projectsAndTasksAreImportedInChunksAndFailedRowsReported() throws Exception {
+        User admin = saveUser("admin");
+        User alice = saveUser("alice");
+        String suffix = String.valueOf(System.nanoTime());
+        int doneBefore = projectRepository.findByStatus("DONE").size();  // Now in the query cache
+
+        String projects = "projectName,description,status,createdByEmail\r\n"
+                + "Apollo " + suffix + ",\"Moon, \"\"crewed\"\"\",,\r\n"
+                + "Gemini " + suffix + ",\"Two\nlines\",DONE," + alice.getEmail() + "\r\n"
+                + ",no name,,\r\n"
+                + "Mercury " + suffix + ",,,nobody@example.com\r\n";
+        ImportProgress projectImport = await(importService.submit(ImportService.Target.PROJECTS, ExportFormat.CSV,
+                file("projects.csv", projects), admin.getId()));
+        assertThat(projectImport.getState()).isEqualTo(ImportProgress.State.COMPLETED);
+        assertThat(projectImport.getRowsRead()).isEqualTo(4);
+        assertThat(projectImport.getCreated()).isEqualTo(2);
+        assertThat(projectImport.getChunks()).isEqualTo(2);
+        assertThat(errors(projectImport)).containsExactly(
+                "line,message",
+                "5,Project name is required and may have at most 150 characters",
+                "6,Unknown user: nobody@example.com");
+        Project gemini = projectRepository.findAll().stream()
+                .filter(project -> project.getProjectName().equals("Gemini " + suffix))
+                .findFirst().orElseThrow();
+        assertThat(gemini.getCreatedBy()).isEqualTo(alice.getId());
+        assertThat(gemini.getDescription()).isEqualTo("Two\nlines");
+        // The cached query result was evicted after the chunk committed
+        assertThat(projectRepository.findByStatus("DONE")).hasSize(doneBefore + 1);
+
+        String tasks = "{\"taskName\":\"Launch\",\"status\":\"TODO\",\"projectName\":\"Apollo " + suffix + "\",\"assigneeEmail\":\"" + alice.getEmail() + "\"}\n"
+                + "{\"taskName\":\"Dock\",\"status\":\"TODO\",\"projectId\":" + gemini.getId() + ",\"assigneeId\":" + alice.getId() + "}\n"
+                + "\n"
+                + "{not json\n"
+                + "{\"taskName\":\"Land\",\"status\":\"TODO\",\"projectId\":999999,\"assigneeId\":" + alice.getId() + "}\n";
+        ImportProgress taskImport = await(importService.submit(ImportService.Target.TASKS, ExportFormat.NDJSON,
+                file("tasks.ndjson", tasks), admin.getId()));
+        assertThat(taskImport.getCreated()).isEqualTo(2);
+        assertThat(taskImport.getFailed()).isEqualTo(2);
+        List<String> taskErrors = errors(taskImport);
+        assertThat(taskErrors.get(1)).startsWith("4,Invalid JSON");
+        assertThat(taskErrors.get(2)).isEqualTo("5,Unknown project ID: 999999");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE assigned_to = ?", Integer.class,
+                alice.getId())).isEqualTo(2);
+    }
+
+    private ImportProgress await(ImportProgress progress) throws InterruptedException {
+        for (int i = 0; i < 500 && !progress.isFinished(); i++) {
+            Thread.sleep(10);
+        }
+        return progress;
+    }
+
+    private List<String> errors(ImportProgress progress) throws Exception {
+        return Files.readAllLines(importService.getErrorFile(progress.getId()).orElseThrow());
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.MembershipSyncResult;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.ChangeLogRepository;
+import com.projectmanagement.repository.ProjectMembershipRepository;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({ProjectAssignmentService.class, ProjectMembershipRepository.class, BulkInsertRepository.class, BatchWriter.class,
+        ChangeLogService.class, ChangeLogRepository.class})
+class ProjectAssignmentServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private ProjectAssignmentService projectAssignmentService;
+
+    @Autowired
+    private ProjectMembershipRepository projectMembershipRepository;
+
+    @Test
+    void settingMembersWritesOnlyTheDifferences() {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        User carol = saveUser("carol");
+        Project project = saveProject(alice);
+        saveAssignment(project, alice);
+        saveAssignment(project, bob);
+
+        // Repeated IDs count once
+        MembershipSyncResult result = projectAssignmentService.setProjectMembers(project.getId(),
+                List.of(bob.getId(), carol.getId(), carol.getId()));
+        assertThat(result.getAdded()).containsExactly(carol.getId());
+        assertThat(result.getRemoved()).containsExactly(alice.getId());
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(members(project)).containsExactlyInAnyOrder(bob.getId(), carol.getId());
+
+        MembershipSyncResult repeated = projectAssignmentService.setProjectMembers(project.getId(),
+                List.of(carol.getId(), bob.getId()));
+        assertThat(repeated.getAdded()).isEmpty();
+        assertThat(repeated.getRemoved()).isEmpty();
+        assertThat(repeated.getUnchanged()).isEqualTo(2);
+    }
+
+    @Test
+    void pairsThatAlreadyExistAreSkippedByTheBatchInsert() {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project project = saveProject(alice);
+        saveAssignment(project, alice);  // As if assigned concurrently, after the sync read the members
+
+        projectMembershipRepository.insertIfAbsent(project.getId(), List.of(alice.getId(), bob.getId()), new Date());
+
+        assertThat(members(project)).containsExactlyInAnyOrder(alice.getId(), bob.getId());
+    }
+
+    @Test
+    void assigningAnExistingMemberAgainReturnsTheExistingAssignment() {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice);
+        ProjectAssignment existing = saveAssignment(project, alice);
+
+        ProjectAssignment assignment = new ProjectAssignment();
+        assignment.setProjectId(project.getId());
+        assignment.setUserId(alice.getId());
+        assertThat(projectAssignmentService.assignUserToProject(assignment).getAssignmentId()).isEqualTo(existing.getAssignmentId());
+        assertThat(members(project)).containsExactly(alice.getId());
+    }
+
+    private List<Integer> members(Project project) {
+        return projectAssignmentRepository.findUserIdsByProjectId(project.getId());
+    }
+}
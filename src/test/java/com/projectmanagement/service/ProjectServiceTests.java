@@ -0,0 +1,99 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.config.SecondLevelCacheConfig;
+import com.projectmanagement.dto.DeletionProgress;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.CascadeDeleteRepository;
+import com.projectmanagement.repository.ChangeLogRepository;
+import com.projectmanagement.repository.CollectionVersionRepository;
+import com.projectmanagement.repository.PatchRepository;
+import com.projectmanagement.repository.ProjectQueryCache;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs with the application's cache regions and without a test transaction, so every read is a
+// session of its own that can only be served from the second-level cache or the database
+@Import({SecondLevelCacheConfig.class, ProjectService.class, PatchRepository.class, SecondLevelCacheStats.class,
+        CascadeDeleteService.class, CascadeDeleteRepository.class, ChangeLogService.class, ChangeLogRepository.class,
+        CollectionVersionRepository.class, ProjectQueryCache.class, BulkInsertRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProjectServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private BulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private ProjectQueryCache projectQueryCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cachedProjectsAndQueriesFollowUpdatesAndDeletes() throws InterruptedException {
+        String status = "S" + System.nanoTime() % 1_000_000_000;
+        User alice = saveUser("alice");
+        Project project = saveProject(alice, "Apollo");
+
+        // Read twice: the second read and the repeated query are served from the cache
+        long projectHits = hits(SecondLevelCacheConfig.PROJECTS_REGION);
+        long queryHits = hits(SecondLevelCacheConfig.PROJECTS_BY_STATUS_REGION);
+        assertThat(projectService.getProjectById(project.getId())).isPresent();
+        assertThat(projectService.getProjectById(project.getId())).isPresent();
+        assertThat(projectRepository.findByStatus(status)).isEmpty();
+        assertThat(projectRepository.findByStatus(status)).isEmpty();
+        assertThat(hits(SecondLevelCacheConfig.PROJECTS_REGION)).isGreaterThan(projectHits);
+        assertThat(hits(SecondLevelCacheConfig.PROJECTS_BY_STATUS_REGION)).isGreaterThan(queryHits);
+
+        Project changes = projectService.getProjectById(project.getId()).orElseThrow();
+        changes.setProjectName("Gemini");
+        changes.setStatus(status);
+        projectService.updateProject(project.getId(), changes.getVersion(), changes);
+        assertThat(projectService.getProjectById(project.getId())).map(Project::getProjectName).contains("Gemini");
+        assertThat(projectRepository.findByStatus(status)).extracting(Project::getId).containsExactly(project.getId());
+
+        // Inserted through JDBC, which Hibernate does not see
+        Project imported = new Project();
+        imported.setProjectName("Mercury");
+        imported.setCreatedBy(alice.getId());
+        imported.setStatus(status);
+        List<Integer> importedIds = new TransactionTemplate(transactionManager).execute(transaction -> {
+            List<Integer> ids = bulkInsertRepository.insertProjects(List.of(imported), new Date());
+            projectQueryCache.evictAfterCommit();
+            return ids;
+        });
+        assertThat(projectRepository.findByStatus(status)).extracting(Project::getId)
+                .containsExactlyInAnyOrder(project.getId(), importedIds.get(0));
+
+        DeletionProgress progress = projectService.deleteProject(project.getId());
+        for (int i = 0; i < 500 && !progress.isFinished(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(progress.getState()).isEqualTo(DeletionProgress.State.COMPLETED);
+        assertThat(projectService.getProjectById(project.getId())).isEmpty();
+        assertThat(projectRepository.findByStatus(status)).extracting(Project::getId).containsExactly(importedIds.get(0));
+
+        Map<String, Object> stats = projectService.getEntityCacheStats().get(SecondLevelCacheConfig.PROJECTS_REGION);
+        assertThat((double) stats.get("hitRate")).isPositive();
+    }
+
+    private long hits(String region) {
+        return (long) projectService.getEntityCacheStats().get(region).get("hits");
+    }
+}
@@ -0,0 +1,138 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.SyncChange;
+import com.projectmanagement.dto.SyncPage;
+import com.projectmanagement.dto.TaskView;
+import com.projectmanagement.event.ProjectChangedEvent;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.ChangeLogEntry;
+import com.projectmanagement.repository.ChangeLogRepository;
+import com.projectmanagement.repository.ProjectMembershipRepository;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction: change log entries are only written when a transaction commits
+@Import({SyncService.class, ChangeLogService.class, ChangeLogRepository.class, ProjectAssignmentService.class,
+        ProjectMembershipRepository.class, BulkInsertRepository.class, BatchWriter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyncServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ProjectAssignmentService projectAssignmentService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void returnsEachChangedEntityOnceWithItsCurrentStateOrATombstone() {
+        long start = syncService.getChanges(0, 1000).getCursor();
+        User alice = saveUser("alice");
+        Project project = inTransaction(() -> {
+            Project saved = saveProject(alice);
+            eventPublisher.publishEvent(ProjectChangedEvent.created(saved));
+            return saved;
+        });
+        Task task = inTransaction(() -> {
+            Task saved = saveTask(project, alice);
+            eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+            eventPublisher.publishEvent(TaskChangedEvent.updated(null, saved));  // Logged twice, returned once
+            return saved;
+        });
+        ProjectAssignment assignment = new ProjectAssignment();
+        assignment.setProjectId(project.getId());
+        assignment.setUserId(alice.getId());
+        int assignmentId = projectAssignmentService.assignUserToProject(assignment).getAssignmentId();
+        // Rolled back: never logged
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ProjectChangedEvent.deleted(project.getId()));
+            status.setRollbackOnly();
+        });
+
+        SyncPage page = syncService.getChanges(start, 1000);
+        assertThat(page.isResync()).isFalse();
+        assertThat(page.isHasMore()).isFalse();
+        List<SyncChange> changes = page.getChanges();
+        assertThat(changes).extracting(SyncChange::getType).containsExactly("project", "task", "assignment");
+        assertThat(changes).extracting(SyncChange::isDeleted).containsOnly(false);
+        assertThat(((TaskView) changes.get(1).getData()).getId()).isEqualTo(task.getId());
+        assertThat(changes.get(2).getId()).isEqualTo(assignmentId);
+
+        // Removing the member logs a tombstone for the assignment
+        projectAssignmentService.setProjectMembers(project.getId(), List.of());
+        SyncPage next = syncService.getChanges(page.getCursor(), 1000);
+        assertThat(next.getChanges()).hasSize(1);
+        assertThat(next.getChanges().get(0).getType()).isEqualTo("assignment");
+        assertThat(next.getChanges().get(0).isDeleted()).isTrue();
+        assertThat(next.getChanges().get(0).getData()).isNull();
+
+        // Paged by limit
+        SyncPage first = syncService.getChanges(start, 2);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(syncService.getChanges(first.getCursor(), 1000).getCursor()).isEqualTo(next.getCursor());
+    }
+
+    @Test
+    void stopsBeforeRecentGapsAndAsksForAResyncOncePruned() {
+        User bob = saveUser("bob");
+        Project project = saveProject(bob);
+        changeLogService.record(ChangeLogEntry.Type.PROJECT, project.getId(), false);
+        long cursor = syncService.getChanges(0, 1000).getCursor();
+
+        // A sequence number skipped moments ago may belong to a transaction that has not committed yet
+        changeLogService.record(ChangeLogEntry.Type.PROJECT, project.getId(), false);
+        changeLogService.record(ChangeLogEntry.Type.PROJECT, project.getId(), false);
+        jdbcTemplate.update("DELETE FROM change_log WHERE seq = ?", cursor + 1);
+        SyncPage page = syncService.getChanges(cursor, 1000);
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getCursor()).isEqualTo(cursor);
+
+        // Once the gap is older than the grace period it is a rolled back write and skipped
+        jdbcTemplate.update("UPDATE change_log SET changed_at = ? WHERE seq = ?",
+                new Timestamp(System.currentTimeMillis() - 60_000), cursor + 2);
+        page = syncService.getChanges(cursor, 1000);
+        assertThat(page.getChanges()).extracting(SyncChange::getSeq).containsExactly(cursor + 2);
+
+        // Entries past the retention period are pruned; cursors into the pruned range must reload
+        jdbcTemplate.update("UPDATE change_log SET changed_at = ?", new Timestamp(System.currentTimeMillis() - 60L * 24 * 3600 * 1000));
+        changeLogService.prune();
+        SyncPage resync = syncService.getChanges(cursor, 1000);
+        assertThat(resync.isResync()).isTrue();
+        assertThat(resync.getCursor()).isEqualTo(cursor + 2);
+        assertThat(syncService.getChanges(resync.getCursor(), 1000).isResync()).isFalse();
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
@@ -0,0 +1,110 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.BulkResult;
+import com.projectmanagement.exception.ConflictException;
+import com.projectmanagement.exception.CustomException;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.payload.TaskRequest;
+import com.projectmanagement.repository.BulkInsertRepository;
+import com.projectmanagement.repository.CollectionVersionRepository;
+import com.projectmanagement.repository.PatchRepository;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Two rows per chunk, so some chunks reference no project or no assignee at all
+@TestPropertySource(properties = "bulk.batch-size=2")
+@Import({TaskService.class, BulkInsertRepository.class, BatchWriter.class, PatchRepository.class, CollectionVersionRepository.class})
+class TaskServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void bulkCreateReportsInvalidItemsAndCreatesTheRest() {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice);
+
+        BulkResult result = taskService.createTasks(List.of(
+                request("valid", project.getId(), alice.getId()),
+                request(null, project.getId(), alice.getId()),        // Missing name
+                request("no project", null, null),                    // Chunk without any project or assignee
+                request("no project either", null, null),
+                request("unknown project", Integer.MAX_VALUE, alice.getId()),
+                request("no assignee", project.getId(), null),
+                request("unknown assignee", project.getId(), Integer.MAX_VALUE),
+                request("also valid", project.getId(), alice.getId())));
+
+        assertThat(result.getRequested()).isEqualTo(8);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailures()).extracting(BulkResult.ItemError::getIndex, BulkResult.ItemError::getMessage)
+                .containsExactly(
+                        tuple(1, "Task name is required and may have at most 150 characters"),
+                        tuple(2, "Invalid project ID"),
+                        tuple(3, "Invalid project ID"),
+                        tuple(4, "Invalid project ID"),
+                        tuple(5, "Invalid user ID"),
+                        tuple(6, "Invalid user ID"));
+        assertThat(taskRepository.findAll()).filteredOn(task -> task.getProject().getId() == project.getId())
+                .extracting(Task::getTaskName)
+                .containsExactlyInAnyOrder("valid", "also valid");
+    }
+
+    @Test
+    void patchesAreRejectedForStaleVersionsAndMissingTasks() {
+        User alice = saveUser("alice");
+        Task task = taskRepository.saveAndFlush(saveTask(saveProject(alice), alice, "TODO"));
+        long version = task.getVersion();
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus("DONE");
+
+        assertThat(taskService.patchTask(task.getId(), version, patch)).isEqualTo(version + 1);
+        assertThatThrownBy(() -> taskService.patchTask(task.getId(), version, patch))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> taskService.patchTask(Integer.MAX_VALUE, 0, patch))
+                .isInstanceOf(CustomException.class)
+                .hasMessageStartingWith("Task not found");
+
+        entityManager.clear();
+        Task patched = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(patched.getStatus()).isEqualTo("DONE");
+        assertThat(patched.getTaskName()).isEqualTo("task");
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void patchesReferencingUnknownProjectsAreRejected() {
+        User alice = saveUser("alice");
+        Task task = taskRepository.saveAndFlush(saveTask(saveProject(alice), alice, "TODO"));
+        TaskPatch patch = new TaskPatch();
+        patch.setProjectId(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> taskService.patchTask(task.getId(), task.getVersion(), patch))
+                .isInstanceOf(CustomException.class)
+                .hasMessage("Invalid project or user ID");
+    }
+
+    private static TaskRequest request(String name, Integer projectId, Integer assigneeId) {
+        TaskRequest request = new TaskRequest();
+        request.setTaskName(name);
+        request.setStatus("TODO");
+        request.setProjectId(projectId);
+        request.setAssigneeId(assigneeId);
+        return request;
+    }
+}
@@ -0,0 +1,112 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.ProjectTaskSummary;
+import com.projectmanagement.event.TaskChangedEvent;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.payload.TaskPatch;
+import com.projectmanagement.support.DataJpaTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction: recounts read committed rows on their own thread
+@Import(TaskStatisticsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskStatisticsServiceTests extends DataJpaTestSupport {
+
+    @Autowired
+    private TaskStatisticsService taskStatisticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countersFollowTaskChangesAndRecountWhatTheEventsCannotTell() throws InterruptedException {
+        User alice = saveUser("alice");
+        User bob = saveUser("bob");
+        Project project = saveProject(alice);
+        Task first = saveTask(project, alice, "TODO");
+        saveTask(project, alice, "TODO");
+        saveTask(project, bob, "DONE");
+
+        taskStatisticsService.loadOnStartup();
+        ProjectTaskSummary summary = taskStatisticsService.getProjectSummary(project.getId());
+        assertThat(summary.getTotal()).isEqualTo(3);
+        assertThat(summary.getByStatus()).isEqualTo(Map.of("TODO", 2L, "DONE", 1L));
+        assertThat(summary.getByAssignee()).isEqualTo(Map.of(alice.getId(), 2L, bob.getId(), 1L));
+        assertThat(summary.getCompletionPercentage()).isEqualTo(33.3);
+
+        // Created through the entity path: applied as a delta
+        Task created = saveTask(project, bob, "DONE");
+        taskStatisticsService.onTaskChanged(TaskChangedEvent.created(created));
+        assertThat(taskStatisticsService.getProjectSummary(project.getId()).getCompleted()).isEqualTo(2);
+
+        // Patched: the previous status is unknown, so the project is recounted in the background
+        jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE task_id = ?", first.getId());
+        TaskPatch patch = new TaskPatch();
+        patch.setStatus("DONE");
+        taskStatisticsService.onTaskChanged(TaskChangedEvent.patched(first.getId(), null, patch));
+        for (int i = 0; i < 500 && taskStatisticsService.getProjectSummary(project.getId()).getCompleted() != 3; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(taskStatisticsService.getProjectSummary(project.getId()).getByStatus()).isEqualTo(Map.of("TODO", 1L, "DONE", 3L));
+
+        // Written behind the service's back: repaired by the reconciliation
+        jdbcTemplate.update("DELETE FROM tasks WHERE status = 'TODO' AND project_id = ?", project.getId());
+        taskStatisticsService.reconcile();
+        summary = taskStatisticsService.getProjectSummary(project.getId());
+        assertThat(summary.getTotal()).isEqualTo(3);
+        assertThat(summary.getCompletionPercentage()).isEqualTo(100.0);
+    }
+
+    @Test
+    void countsTakenBetweenACommitAndItsEventAreNotTakenOver() {
+        User alice = saveUser("alice");
+        Project project = saveProject(alice);
+        saveTask(project, alice, "TODO");
+        taskStatisticsService.loadOnStartup();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Reconciles on another thread once the task is committed but before its event is applied
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    CompletableFuture.runAsync(taskStatisticsService::reconcile).join();
+                }
+            });
+            Task created = saveTask(project, alice, "DONE");
+            eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        });
+
+        // Counting the new task and then applying its event would report 3
+        assertThat(taskStatisticsService.getProjectSummary(project.getId()).getTotal()).isEqualTo(2);
+        assertThat(taskStatisticsService.getProjectSummary(project.getId()).getByStatus()).isEqualTo(Map.of("TODO", 1L, "DONE", 1L));
+    }
+}
@@ -0,0 +1,117 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.support.NoOpTransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against an in-memory stand-in for the repository, whose lookups can be held mid-load
+class UserCacheTests {
+
+    private final AtomicReference<User> stored = new AtomicReference<>(user(0));
+    private final AtomicInteger loads = new AtomicInteger();
+    private volatile CountDownLatch loaded;
+    private volatile CountDownLatch release;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final UserCache userCache = new UserCache(repository(), new NoOpTransactionManager(), 100, Duration.ofMinutes(5));
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lookupsAreServedFromTheCacheUnderBothKeys() {
+        assertThat(userCache.findByEmail("alice@example.com")).map(User::getVersion).contains(0L);
+        assertThat(userCache.findById(1)).map(User::getVersion).contains(0L);
+        assertThat(userCache.findByEmail("alice@example.com")).isPresent();
+
+        assertThat(loads).hasValue(1);
+        Map<String, Object> byId = userCache.stats().get("byId");
+        assertThat(byId).containsEntry("hits", 1L).containsEntry("size", 1L);
+    }
+
+    @Test
+    void missingUsersAreNotCached() {
+        assertThat(userCache.findByEmail("nobody@example.com")).isEmpty();
+        assertThat(userCache.findByEmail("nobody@example.com")).isEmpty();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateDropsTheUserUnderBothKeys() {
+        User cached = userCache.findById(1).orElseThrow();
+        stored.set(user(1));
+        userCache.invalidate(cached);
+
+        assertThat(userCache.findByEmail("alice@example.com")).map(User::getVersion).contains(1L);
+        assertThat(userCache.findById(1)).map(User::getVersion).contains(1L);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidationDuringALoadKeepsTheLoadedUserOutOfTheCache() throws Exception {
+        loaded = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        Future<Optional<User>> lookup = executor.submit(() -> userCache.findByEmail("alice@example.com"));
+        assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The user changes and is invalidated after the load has read the old row
+        User before = stored.getAndSet(user(1));
+        userCache.invalidate(before);
+        release.countDown();
+        assertThat(lookup.get(10, TimeUnit.SECONDS)).map(User::getVersion).contains(0L);
+
+        loaded = null;
+        assertThat(userCache.findById(1)).map(User::getVersion).contains(1L);
+        assertThat(userCache.findByEmail("alice@example.com")).map(User::getVersion).contains(1L);
+    }
+
+    private UserRepository repository() {
+        return (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail" -> load(user -> user.getEmail().equals(args[0]));
+                    case "findById" -> load(user -> Objects.equals(user.getId(), args[0]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Optional<User> load(Predicate<User> matches) throws InterruptedException {
+        loads.incrementAndGet();
+        User user = stored.get();
+        CountDownLatch held = loaded;
+        if (held != null) {
+            held.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+        return Optional.of(user).filter(matches);
+    }
+
+    private static User user(long version) {
+        User user = new User();
+        user.setId(1);
+        user.setName("Alice");
+        user.setEmail("alice@example.com");
+        user.setRole("USER");
+        user.setVersion(version);
+        return user;
+    }
+}
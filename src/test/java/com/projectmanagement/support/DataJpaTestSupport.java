@@ -0,0 +1,87 @@
+package com.projectmanagement.support;
+
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.ProjectAssignment;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.User;
+import com.projectmanagement.repository.ProjectAssignmentRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.dao.PersistenceExceptionTranslationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Date;
+
+/**
+ * Base class of the repository and service tests that run on the embedded H2 database, migrated by
+ * Flyway. The application properties target MySQL, so the H2 dialect is set here; subclasses add
+ * their own settings with @TestPropertySource and their beans with @Import. As in the application,
+ * exceptions of @Repository classes are translated, so services can catch DataIntegrityViolationException.
+ *
+ * The save methods write through the repositories, so they commit right away in tests that run
+ * without a test transaction. Emails get a unique suffix because committed rows outlive each test.
+ */
+@ImportAutoConfiguration(PersistenceExceptionTranslationAutoConfiguration.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+public abstract class DataJpaTestSupport {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected ProjectRepository projectRepository;
+
+    @Autowired
+    protected TaskRepository taskRepository;
+
+    @Autowired
+    protected ProjectAssignmentRepository projectAssignmentRepository;
+
+    protected User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setPassword("secret");
+        user.setRole("USER");
+        return userRepository.save(user);
+    }
+
+    protected Project saveProject(User creator) {
+        return saveProject(creator, "project");
+    }
+
+    protected Project saveProject(User creator, String name) {
+        Project project = new Project();
+        project.setProjectName(name);
+        project.setCreatedBy(creator.getId());
+        return projectRepository.save(project);
+    }
+
+    protected Task saveTask(Project project, User assignee) {
+        return saveTask(project, assignee, "TODO");
+    }
+
+    protected Task saveTask(Project project, User assignee, String status) {
+        return saveTask(project, assignee, "task", status);
+    }
+
+    protected Task saveTask(Project project, User assignee, String name, String status) {
+        Task task = new Task();
+        task.setTaskName(name);
+        task.setStatus(status);
+        task.setProject(project);
+        task.setAssignedTo(assignee);
+        task.setCreatedAt(new Date());
+        return taskRepository.save(task);
+    }
+
+    protected ProjectAssignment saveAssignment(Project project, User user) {
+        ProjectAssignment assignment = new ProjectAssignment();
+        assignment.setProjectId(project.getId());
+        assignment.setUserId(user.getId());
+        return projectAssignmentRepository.save(assignment);
+    }
+}